@@ -1,194 +1,591 @@
 import java.util.*;
 
 public class AIPlayer extends Player {
+    // Which search runs when the AI first has to move
+    public enum Engine {
+        A_STAR,   // Best-first, fastest, memory grows with the search
+        IDA_STAR, // Iterative deepening, depth-first, memory stays flat
+        PARALLEL  // IDA* split across threads at the first turns (see ParallelSolver)
+    }
+
+    // Gets called from the solving thread every few thousand expanded nodes
+    public interface ProgressListener {
+        void onProgress(long expandedNodes, long elapsedMillis);
+    }
+
     private int targetPiece;
-    private static final int GOAL_POS = 0;
-    private static final int OBSTACLE_POS = 22;
+    // Bump whenever a change could alter the solutions the solver returns,
+    // so old entries in the SolutionCache stop matching
+    public static final int SOLVER_VERSION = 1;
+
+    private static final long DEFAULT_TABLE_BYTES = 8L << 20; // 8 MB
+    private static final int PROGRESS_MASK = (1 << 12) - 1; // Report every 4096 nodes
+    private static final int TIME_CHECK_MASK = (1 << 10) - 1; // Budget clock check every 1024 nodes
     
     // Stores the winning move sequence
     private Queue<Integer> winningMoves = new LinkedList<>();
     private List<Integer> diceSequence; 
-    private boolean solved = false;
+    private volatile boolean solved = false;
+    private Engine engine = Engine.A_STAR;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long tableMemoryBytes = DEFAULT_TABLE_BYTES;
+    private SolutionCache solutionCache = SolutionCache.getDefault();
+    private boolean logging = true; // "[AI] ..." lines on stdout
+    private SolveBudget solveBudget = SolveBudget.unlimited(); // For chooseMove / hint
+
+    // Shared by every IDA* / parallel solve of this level, so re-plans start warm.
+    // Entries are f-bounds at an absolute turn, which stay valid across solves.
+    private TranspositionTable transpositionTable;
+
+    // --- Plan tracking ---
+    // Where the game should be when winningMoves.peek() is played
+    private Board planBoard;
+    private int planTurn;
+    private int turnsPlayed; // For callers that don't pass a turn index
+    private boolean provenLost; // The last solve proved there is no win from planBoard
     
-    // Heuristic Map: Stores true distance from every square to 0
-    private int[] distanceMap; 
+    // Heuristic table: fewest turns to square 0 given the dice (see DistanceTablebase).
+    // Built lazily by buildHeuristic, so setDiceSequence stays cheap on the EDT.
+    private DistanceTablebase tablebase;
+    // Turns the target can still move on, from the current solve's start (see ReachabilityAnalysis)
+    private ReachabilityAnalysis reachability;
+    private Heuristic heuristic; // Both of the above, for the current solve
+
+    // --- Progress / cancellation (solve() may run on a background thread) ---
+    private ProgressListener progressListener;
+    private volatile boolean cancelled = false;
+    private volatile ParallelSolver activeParallelSolver;
+    private long expandedNodes;
+    private long solveStartTime;
+
+    // --- Stats (see SolverStats / SolverMonitor) ---
+    private SolverStats stats = new SolverStats(); // Current solve
+    private volatile SolverStats lastStats;        // Last finished one
 
     public AIPlayer(int targetPiece) {
         this.targetPiece = targetPiece;
-        initDistanceMap(); // Pre-calculate distances for the Heuristic
     }
 
-    public void setDiceSequence(List<Integer> diceSequence) {
+    // New dice make every plan and stored bound of the old ones meaningless, so drop them all
+    public synchronized void setDiceSequence(List<Integer> diceSequence) {
         this.diceSequence = diceSequence;
+        this.tablebase = null; // Built by the first solve / hint, off the caller's thread
+        this.transpositionTable = null;
+        winningMoves.clear();
+        planBoard = null;
+        provenLost = false;
+        solved = false;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    // Thread count for Engine.PARALLEL
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    // Memory cap for the IDA* / parallel transposition table
+    public void setTableMemoryBytes(long bytes) {
+        this.tableMemoryBytes = bytes;
+        this.transpositionTable = null;
+    }
+
+    // null turns the on-disk cache off (e.g. for benchmarks)
+    public void setSolutionCache(SolutionCache cache) {
+        this.solutionCache = cache;
+    }
+
+    // Limits every solve chooseMove and hint start. With a limited budget they use
+    // the anytime A* below and may follow a partial plan.
+    public void setSolveBudget(SolveBudget budget) {
+        this.solveBudget = budget;
+    }
+
+    // false keeps the solver quiet, e.g. in batch tools that run thousands of solves
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    // Counters of the last finished solve (cache hits included), or null before the first
+    public SolverStats getLastStats() {
+        return lastStats;
+    }
+
+    // Stops a running solve() from any thread; the AI then has no plan
+    public void cancel() {
+        cancelled = true;
+        ParallelSolver parallel = activeParallelSolver;
+        if (parallel != null) parallel.cancel();
+    }
+
+    /**
+     * Runs the selected engine from 'startPositions' and stores the winning
+     * moves for chooseMove. Safe to call off the Event Dispatch Thread; the
+     * GUI calls it from a SwingWorker right after loading a level.
+     * solve, chooseMove and hint all share the plan, so they lock this
+     * player and run one at a time; only cancel() gets through meanwhile.
+     */
+    public synchronized void solve(int[] startPositions) {
+        plan(startPositions, 0, solutionCache);
     }
 
+    /**
+     * Anytime version: A* from 'positions' at 'turnIndex' that stops once
+     * 'budget' is used up. The result (a shortest win, or a partial plan
+     * towards the most promising position found) becomes the plan
+     * chooseMove follows. If the search finished and proved there is no
+     * win, the plan stays empty (hint returns -1), like an unlimited solve.
+     * Budgeted solves always use A*, since its best-first order is what
+     * makes "best so far" meaningful.
+     */
+    public synchronized SolveResult solve(int[] positions, int turnIndex, SolveBudget budget) {
+        startPlan(positions, turnIndex);
+        buildHeuristic(positions, turnIndex);
+        stats.engine = Engine.A_STAR.name();
+        SolveResult result = searchAStar(positions, turnIndex, budget);
+        if (cancelled) {
+            log("[AI] Solve cancelled.");
+            finishStats(result.getMoves(), false);
+            return result;
+        }
+        // A partial plan is only worth following if the budget cut the search short
+        if (result.reachesGoal() || !result.isOptimal()) winningMoves.addAll(result.getMoves());
+        provenLost = result.isOptimal() && !result.reachesGoal();
+        log("[AI] " + result);
+        finishStats(result.getMoves(), result.reachesGoal());
+        solved = true;
+        return result;
+    }
+
+    private void startPlan(int[] startPositions, int startTurn) {
+        solveStartTime = System.currentTimeMillis();
+        expandedNodes = 0;
+        winningMoves.clear();
+        planBoard = new Board(startPositions);
+        planTurn = startTurn;
+        provenLost = false;
+        stats = new SolverStats();
+        stats.startTurn = startTurn;
+        stats.start();
+    }
+
+    // Only needed once a search actually runs, so a SolutionCache hit skips it
+    private void buildHeuristic(int[] startPositions, int startTurn) {
+        reachability = new ReachabilityAnalysis(targetPiece, diceSequence, startTurn,
+                GameState.aliveMask(startPositions));
+        if (tablebase == null) {
+            // Built once per level and cached, so this is free after the first time
+            tablebase = DistanceTablebase.forLevel(targetPiece, diceSequence);
+        }
+        heuristic = new Heuristic(tablebase, reachability);
+    }
+
+    // Closes the current stats and hands them to the monitor (JMX / JSON log)
+    private void finishStats(Collection<Integer> moves, boolean reachesGoal) {
+        stats.stop();
+        stats.reachesGoal = reachesGoal;
+        stats.pathLength = reachesGoal ? moves.size() : -1;
+        lastStats = stats;
+        SolverMonitor.get().record(stats);
+    }
+
+    private void log(String message) {
+        if (logging) System.out.println(message);
+    }
+
+    // Plans from any position / turn, e.g. one the game reached off-plan
+    private void plan(int[] startPositions, int startTurn, SolutionCache cache) {
+        startPlan(startPositions, startTurn);
+        stats.engine = engine.name();
+
+        // Same level solved before (this run or an earlier one)?
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = SolutionCache.key(SOLVER_VERSION, targetPiece, startPositions, startTurn, diceSequence);
+            List<Integer> cached = cache.get(cacheKey);
+            if (cached != null) {
+                winningMoves.addAll(cached);
+                log("[AI] Loaded " + cached.size() + "-move solution from cache.");
+                stats.engine = "CACHE";
+                finishStats(cached, !cached.isEmpty());
+                provenLost = cached.isEmpty();
+                solved = true;
+                return;
+            }
+        }
+        buildHeuristic(startPositions, startTurn);
+
+        if (engine == Engine.PARALLEL) {
+            log("[AI] Running parallel IDA* Solver (" + parallelism + " threads)...");
+            ParallelSolver parallel = new ParallelSolver(targetPiece, diceSequence, parallelism, table());
+            parallel.setProgressListener(progressListener);
+            activeParallelSolver = parallel;
+            if (cancelled) parallel.cancel();
+            winningMoves.addAll(parallel.solve(startPositions, startTurn));
+            activeParallelSolver = null;
+            stats.add(parallel.getStats());
+            if (!cancelled) {
+                log(winningMoves.isEmpty()
+                        ? "[AI] No solution found."
+                        : "[AI] Optimal Path Found: " + winningMoves.size() + " moves.");
+            }
+        } else if (engine == Engine.IDA_STAR) {
+            log("[AI] Running IDA* Solver...");
+            solveGameIDAStar(startPositions, startTurn);
+        } else {
+            log("[AI] Running A* Solver...");
+            solveGameAStar(startPositions, startTurn);
+        }
+        if (cancelled) {
+            log("[AI] Solve cancelled.");
+            winningMoves.clear();
+            finishStats(winningMoves, false);
+            return;
+        }
+        finishStats(winningMoves, !winningMoves.isEmpty());
+        long endTime = System.currentTimeMillis();
+        log("[AI] Solved in " + (endTime - solveStartTime) + "ms");
+        if (cache != null) cache.put(cacheKey, new ArrayList<>(winningMoves));
+        provenLost = winningMoves.isEmpty();
+        solved = true;
+    }
+
+    // Assumes one call per turn; prefer the overload with the real turn index
     @Override
     public int chooseMove(List<Integer> possibleMoves, int[] currentPositions) {
-        if (!solved && diceSequence != null) {
-            System.out.println("[AI] Running A* Solver...");
-            long startTime = System.currentTimeMillis();
-            solveGameAStar(currentPositions);
-            long endTime = System.currentTimeMillis();
-            System.out.println("[AI] Solved in " + (endTime - startTime) + "ms");
-            solved = true;
+        return chooseMove(possibleMoves, currentPositions, turnsPlayed);
+    }
+
+    @Override
+    public synchronized int chooseMove(List<Integer> possibleMoves, int[] currentPositions, int turnIndex) {
+        turnsPlayed = turnIndex + 1;
+        if (diceSequence != null && !(solved && (followPlan(currentPositions, turnIndex)
+                || followLostGame(currentPositions, turnIndex)))) {
+            // Off the plan (or at the end of a partial one): plan again from here
+            if (solved) log("[AI] Re-planning at turn " + (turnIndex + 1) + "...");
+            if (!solveBudget.isUnlimited()) {
+                solve(currentPositions, turnIndex, solveBudget);
+            } else {
+                plan(currentPositions, turnIndex, !solved && turnIndex == 0 ? solutionCache : null);
+            }
         }
 
         if (!winningMoves.isEmpty()) {
-            int bestMove = winningMoves.poll();
+            int bestMove = winningMoves.peek();
             if (possibleMoves.contains(bestMove)) return bestMove;
         }
         return possibleMoves.get(0);
     }
 
+    /**
+     * Next move of a shortest win from 'positions' at 'turnIndex', or -1 if
+     * the target can no longer make it. Reuses the current plan while the
+     * game follows it, otherwise re-plans (with the shared transposition
+     * table, so it's quick). Used by the Hint button.
+     */
+    public int hint(int[] positions, int turnIndex) {
+        return hint(positions, turnIndex, solveBudget);
+    }
+
+    // Same, but a re-plan stops after 'budget' and the hint may come from a partial plan
+    public synchronized int hint(int[] positions, int turnIndex, SolveBudget budget) {
+        if (diceSequence == null) return -1;
+        if (!solved || !(followPlan(positions, turnIndex) || followLostGame(positions, turnIndex))) {
+            if (budget.isUnlimited()) {
+                plan(positions, turnIndex, null);
+            } else {
+                solve(positions, turnIndex, budget);
+            }
+        }
+        return winningMoves.isEmpty() ? -1 : winningMoves.peek();
+    }
+
+    // Plays the planned moves up to 'turnIndex' on planBoard, then checks that
+    // the real game is in the same spot. False means the plan no longer applies.
+    private boolean followPlan(int[] positions, int turnIndex) {
+        if (planBoard == null || winningMoves.isEmpty()) return false;
+        while (planTurn < turnIndex && !winningMoves.isEmpty()) {
+            planBoard.makeMove(winningMoves.poll());
+            planTurn++;
+        }
+        if (planTurn != turnIndex || winningMoves.isEmpty()) return false;
+        return samePositions(planBoard, positions);
+    }
+
+    // After a solve proved there is no win, nothing the game plays can make one
+    // appear. Replays the game's moves on planBoard and returns true while it
+    // is still that lost game, so chooseMove / hint don't re-plan every turn.
+    private boolean followLostGame(int[] positions, int turnIndex) {
+        if (!provenLost || turnIndex < planTurn || turnIndex > diceSequence.size()) return false;
+        int[] moves = new int[GameState.MAX_MOVES_PER_TURN];
+        while (planTurn < turnIndex) {
+            int count = planBoard.generateMoves(diceSequence.get(planTurn), moves);
+            planTurn++;
+            if (count == 0) continue; // No moves possible, the turn was skipped
+            if (planTurn < turnIndex) return false; // Can't tell which move was played
+            int m = 0;
+            while (m < count) {
+                int undo = planBoard.makeMove(moves[m]);
+                if (samePositions(planBoard, positions)) break;
+                planBoard.unmakeMove(undo);
+                m++;
+            }
+            if (m == count) return false;
+        }
+        return samePositions(planBoard, positions);
+    }
+
+    private static boolean samePositions(Board board, int[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            if (board.positionOf(i) != positions[i]) return false;
+        }
+        return true;
+    }
+
+    private TranspositionTable table() {
+        if (transpositionTable == null) {
+            transpositionTable = new TranspositionTable(tableMemoryBytes);
+        }
+        return transpositionTable;
+    }
+
     // --- A* SOLVER ---
-    private void solveGameAStar(int[] startPositions) {
-        // Priority Queue orders states by 'f' score (Cost + Heuristic)
-        // This ensures we always explore the most promising path first
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingInt(n -> n.f));
-        Set<String> closedSet = new HashSet<>();
+    private void solveGameAStar(int[] startPositions, int startTurn) {
+        SolveResult result = searchAStar(startPositions, startTurn, SolveBudget.unlimited());
+        if (cancelled) return;
+        if (result.reachesGoal()) {
+            winningMoves.addAll(result.getMoves());
+            log("[AI] Optimal Path Found: " + winningMoves.size() + " moves.");
+        } else {
+            log("[AI] No solution found.");
+        }
+    }
 
-        Node startNode = new Node(startPositions, 0, null, -1, 0);
-        startNode.f = startNode.g + calculateHeuristic(startPositions);
-        openSet.add(startNode);
+    // Stops early when the budget runs out (or on cancel) and then returns the
+    // path to the best node seen: lowest h, deepest on ties.
+    private SolveResult searchAStar(int[] startPositions, int startTurn, SolveBudget budget) {
+        // Node memory is per thread and reused across solves, only cleared at the start
+        SearchSpace space = SEARCH_SPACE.get();
+        try {
+            return searchAStar(space, startPositions, startTurn, budget);
+        } finally {
+            // Don't pin a big search's buffers for the life of the thread
+            if (space.nodes.size() > KEEP_SEARCH_NODES) SEARCH_SPACE.remove();
+        }
+    }
+
+    private SolveResult searchAStar(SearchSpace space, int[] startPositions, int startTurn, SolveBudget budget) {
+        long startNanos = System.nanoTime();
+        long deadline = budget.deadline(startNanos);
+        long maxNodes = budget.getMaxNodes();
+
+        NodeStore nodes = space.nodes;
+        // Open set is a bucket queue of node indices keyed by 'f' score (Cost + Heuristic)
+        // This ensures we always explore the most promising path first,
+        // and among equal f the newest (deepest) node goes first
+        BucketQueue openSet = space.openSet;
+        // Closed set holds packed states (positions + turn) as primitive longs
+        LongHashSet closedSet = space.closedSet;
+        nodes.clear();
+        openSet.clear();
+        closedSet.clear();
+
+        // Scratch board and buffers, reused for every expansion
+        Board board = new Board(startPositions);
+        int[] positions = new int[6];
+        int[] nextPos = new int[6];
+        int[] moves = new int[GameState.MAX_MOVES_PER_TURN];
+
+        // Last turn the game can still be won on
+        int maxTurns = Math.min(GameState.MAX_MOVES, diceSequence.size());
+
+        // g counts from turn 0, so f is always compared against the same maxTurns
+        int h0 = calculateHeuristic(startTurn, GameState.aliveMask(startPositions), startPositions[targetPiece - 1]);
+        if (startTurn + h0 > maxTurns) {
+            return aStarResult(new ArrayList<>(), false, true, 0, startNanos, closedSet);
+        }
+        int start = nodes.add(StateCodec.encode(startPositions, startTurn), -1, -1, startTurn, startTurn + h0);
+        openSet.push(start, startTurn + h0);
+
+        // Best partial plan so far
+        int bestNode = start;
+        int bestH = h0;
+        long expanded = 0;
 
         while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
+            int current = openSet.pop();
+            long state = nodes.state[current];
 
             // CHECK VICTORY
-            if (current.positions[targetPiece - 1] == GOAL_POS) {
-                reconstructPath(current);
-                return;
+            if (StateCodec.positionOf(state, targetPiece - 1) == GameState.GOAL_POS) {
+                return aStarResult(reconstructPath(nodes, current), true, true, expanded, startNanos, closedSet);
             }
 
+            int turnIndex = StateCodec.decodeTurn(state);
+
             // Stop if search goes too deep (failsafe)
-            if (current.turnIndex >= diceSequence.size() || current.turnIndex >= 30) continue;
+            if (turnIndex >= maxTurns) continue;
 
-            // Generate unique key for Visited Set
-            String stateKey = Arrays.toString(current.positions) + "|" + current.turnIndex;
-            if (closedSet.contains(stateKey)) continue;
-            closedSet.add(stateKey);
+            // The packed state already includes the turn index.
+            // Equivalent states (see closedKey) share one entry.
+            if (!closedSet.add(closedKey(state, turnIndex))) {
+                stats.duplicateHits++;
+                continue;
+            }
 
-            int dice = diceSequence.get(current.turnIndex);
-            List<Integer> moves = generatePossibleMoves(dice, current.positions);
+            int remaining = nodes.f[current] - nodes.g[current]; // h
+            if (remaining < bestH || (remaining == bestH && nodes.g[current] > nodes.g[bestNode])) {
+                bestNode = current;
+                bestH = remaining;
+            }
+
+            // Out of budget: settle for the best node so far
+            boolean outOfTime = (expanded & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline;
+            if (cancelled || expanded >= maxNodes || outOfTime) {
+                return aStarResult(reconstructPath(nodes, bestNode), false, false, expanded, startNanos, closedSet);
+            }
+            expanded++;
+            countNode();
 
-            for (int move : moves) {
-                int[] nextPos = simulateMove(current.positions, move);
+            StateCodec.decodePositions(state, positions);
+            board.load(positions);
+            int dice = diceSequence.get(turnIndex);
+            int moveCount = board.generateMoves(dice, moves);
+            int g = nodes.g[current] + 1; // g = cost so far (turns taken)
+            stats.nodesGenerated += moveCount;
+
+            for (int m = 0; m < moveCount; m++) {
+                int move = moves[m];
+                int undo = board.makeMove(move);
                 
-                // g = cost so far (turns taken)
                 // h = heuristic (estimated turns remaining)
-                int g = current.g + 1;
-                int h = calculateHeuristic(nextPos); 
-                
-                Node neighbor = new Node(nextPos, current.turnIndex + 1, current, move, g);
-                neighbor.f = g + h; 
+                int h = calculateHeuristic(turnIndex + 1, board.aliveMask(), board.positionOf(targetPiece - 1));
+                int f = g + h;
+
+                // PRUNE dead states instead of queueing them:
+                // target captured (h == LOST), or too far from 0 to make it in time
+                if (f <= maxTurns) {
+                    board.copyPositions(nextPos);
+                    int neighbor = nodes.add(StateCodec.encode(nextPos, turnIndex + 1), current, move, g, f);
+                    openSet.push(neighbor, f);
+                } else if (h == Heuristic.LOST) {
+                    stats.prune(board.positionOf(targetPiece - 1) == -1
+                            ? SolverStats.PruneReason.TARGET_CAPTURED
+                            : SolverStats.PruneReason.UNREACHABLE);
+                } else {
+                    stats.prune(SolverStats.PruneReason.OVER_BOUND);
+                }
+                board.unmakeMove(undo);
+            }
+            if (openSet.size() > stats.peakOpenSize) stats.peakOpenSize = openSet.size();
+        }
+        // Searched everything: no win, the best node is only the best try
+        return aStarResult(reconstructPath(nodes, bestNode), false, true, expanded, startNanos, closedSet);
+    }
+
+    private SolveResult aStarResult(List<Integer> moves, boolean reachesGoal, boolean optimal,
+                                    long expanded, long startNanos, LongHashSet closedSet) {
+        stats.closedSize = closedSet.size();
+        return new SolveResult(moves, reachesGoal, optimal, expanded, elapsedMillis(startNanos), stats);
+    }
+
+    /**
+     * Closed-set key for A*. Pieces that are inert from this turn on (see
+     * ReachabilityAnalysis.inertPieces) are dropped, so boards that only
+     * differ in where those pieces stand, or whether they're still alive,
+     * share one entry. A board and its mirror image across the 0-99
+     * diagonal share one too: king moves, square 0 and the obstacle (22)
+     * all map onto themselves, so both play out the same way.
+     * Every state behind one key has the same turn, so the same g, and the
+     * same best future, so expanding only the first one popped is safe.
+     */
+    private long closedKey(long state, int turnIndex) {
+        long key = StateCodec.withoutPieces(state, reachability.inertPieces(turnIndex));
+        return Math.min(key, StateCodec.transpose(key));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    // --- IDA* SOLVER ---
+    // IDA* bound after bound (see IdaSearch), with the level's shared transposition table
+    private void solveGameIDAStar(int[] startPositions, int startTurn) {
+        int maxTurns = Math.min(GameState.MAX_MOVES, diceSequence.size());
+        GameState state = new GameState(targetPiece, startPositions, startTurn);
+        IdaSearch search = new IdaSearch(targetPiece, diceSequence, maxTurns, heuristic, table(), stats) {
+            @Override
+            protected void nodeExpanded() {
+                countNode();
+            }
 
-                openSet.add(neighbor);
+            @Override
+            protected boolean aborted() {
+                return cancelled;
             }
+        };
+
+        int bound = startTurn + calculateHeuristic(startTurn, GameState.aliveMask(startPositions), startPositions[targetPiece - 1]);
+        while (bound <= maxTurns && !cancelled) {
+            int t = search.search(state, bound);
+            if (t == IdaSearch.ABORTED) return;
+            if (t == IdaSearch.FOUND) {
+                search.appendPath(startTurn, winningMoves);
+                log("[AI] Optimal Path Found: " + winningMoves.size() + " moves.");
+                return;
+            }
+            bound = t; // Smallest f that exceeded the old bound
+        }
+        if (!cancelled) log("[AI] No solution found.");
+    }
+
+    // Counts one expanded node and reports progress now and then
+    private void countNode() {
+        stats.nodesExpanded++;
+        if ((++expandedNodes & PROGRESS_MASK) == 0 && progressListener != null) {
+            progressListener.onProgress(expandedNodes, System.currentTimeMillis() - solveStartTime);
         }
-        System.out.println("[AI] No solution found.");
     }
 
     // --- HEURISTIC FUNCTION ---
-    // Estimates how close we are to winning. 
+    // Estimates how close we are to winning (see Heuristic).
     // This is the "Brain" that prevents Memory Overflow.
-    private int calculateHeuristic(int[] positions) {
-        int targetPos = positions[targetPiece - 1];
-        if (targetPos == -1) return 9999; // Lost state
-        if (targetPos == GOAL_POS) return 0; // Won state
-        
-        int dist = distanceMap[targetPos];
-        if (dist == -1) return 9999; 
-        
-        // Return BFS distance. This is an "Admissible Heuristic" (never overestimates)
-        // guaranteeing the shortest path is found.
-        return dist; 
-    }
-
-    private void reconstructPath(Node endNode) {
+    private int calculateHeuristic(int turnIndex, int aliveMask, int targetPos) {
+        stats.heuristicEvaluations++;
+        return heuristic.estimate(turnIndex, aliveMask, targetPos);
+    }
+
+    private List<Integer> reconstructPath(NodeStore nodes, int endNode) {
         LinkedList<Integer> path = new LinkedList<>();
-        Node curr = endNode;
-        while (curr.parent != null) {
-            path.addFirst(curr.moveUsed);
-            curr = curr.parent;
+        int curr = endNode;
+        while (nodes.parent[curr] != -1) {
+            path.addFirst(nodes.move[curr]);
+            curr = nodes.parent[curr];
         }
-        winningMoves.addAll(path);
-        System.out.println("[AI] Optimal Path Found: " + winningMoves.size() + " moves.");
+        return path;
     }
 
     // --- DATA STRUCTURES ---
-    private class Node {
-        int[] positions;
-        int turnIndex;
-        Node parent;
-        int moveUsed;
-        int g; // Cost from start
-        int f; // Total estimated cost (f = g + h)
-
-        Node(int[] p, int t, Node par, int m, int g) {
-            this.positions = p.clone();
-            this.turnIndex = t;
-            this.parent = par;
-            this.moveUsed = m;
-            this.g = g;
-        }
-    }
-
-    // --- HELPER: Pre-calculate Distance Map for Heuristic ---
-    private void initDistanceMap() {
-        distanceMap = new int[100];
-        Arrays.fill(distanceMap, -1);
-        Queue<Integer> queue = new LinkedList<>();
-        distanceMap[GOAL_POS] = 0;
-        queue.add(GOAL_POS);
-        int[] dr = {-1, -1, -1, 0, 0, 1, 1, 1};
-        int[] dc = {-1, 0, 1, -1, 1, -1, 0, 1};
-        while (!queue.isEmpty()) {
-            int curr = queue.poll();
-            int r = curr / 10, c = curr % 10;
-            for (int i = 0; i < 8; i++) {
-                int nr = r + dr[i], nc = c + dc[i];
-                if (nr >= 0 && nr < 10 && nc >= 0 && nc < 10) {
-                    int nPos = nr * 10 + nc;
-                    if (nPos != OBSTACLE_POS && distanceMap[nPos] == -1) {
-                        distanceMap[nPos] = distanceMap[curr] + 1;
-                        queue.add(nPos);
-                    }
-                }
-            }
-        }
-    }
+    // Flat search buffers (see NodeStore / BucketQueue). One set per thread,
+    // kept alive between solves so the arrays only grow once. A solve that
+    // stored more than KEEP_SEARCH_NODES nodes drops its set afterwards, so a
+    // thread never holds more than roughly 20 MB of them between solves.
+    private static final ThreadLocal<SearchSpace> SEARCH_SPACE = ThreadLocal.withInitial(SearchSpace::new);
+    private static final int KEEP_SEARCH_NODES = 1 << 19;
 
-    private int[] simulateMove(int[] positions, int move) {
-        int[] newPos = positions.clone();
-        int pieceIdx = (move / 100) - 1;
-        int dest = move % 100;
-        for (int i = 0; i < 6; i++) if (newPos[i] == dest) newPos[i] = -1;
-        newPos[pieceIdx] = dest;
-        return newPos;
-    }
-
-    private List<Integer> generatePossibleMoves(int diceNumber, int[] positions) {
-        List<Integer> possiblePieces = new ArrayList<>();
-        int pieceIdx = diceNumber - 1;
-        if (positions[pieceIdx] != -1) possiblePieces.add(diceNumber);
-        else {
-            for (int i = pieceIdx - 1; i >= 0; i--) if (positions[i] != -1) { possiblePieces.add(i + 1); break; }
-            for (int i = pieceIdx + 1; i < 6; i++) if (positions[i] != -1) { possiblePieces.add(i + 1); break; }
-        }
-        List<Integer> moves = new ArrayList<>();
-        int[] dr = {-1, -1, -1, 0, 0, 1, 1, 1};
-        int[] dc = {-1, 0, 1, -1, 1, -1, 0, 1};
-        for (int pNum : possiblePieces) {
-            int pos = positions[pNum - 1];
-            int r = pos / 10, c = pos % 10;
-            for (int i = 0; i < 8; i++) {
-                int nr = r + dr[i], nc = c + dc[i];
-                if (nr >= 0 && nr < 10 && nc >= 0 && nc < 10) {
-                    int nPos = nr * 10 + nc;
-                    if (nPos != OBSTACLE_POS) moves.add(pNum * 100 + nPos);
-                }
-            }
-        }
-        return moves;
+    private static class SearchSpace {
+        final NodeStore nodes = new NodeStore();
+        final BucketQueue openSet = new BucketQueue();
+        final LongHashSet closedSet = new LongHashSet();
     }
 }
\ No newline at end of file
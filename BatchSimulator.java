@@ -0,0 +1,200 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Headless RandomPlayer games, as many as you like, to rate how hard a
+ * level is. Plays N complete games per level on every core, straight on
+ * a Board (no GUI, no moves.txt, no files at all), and prints the win,
+ * capture and timeout rates plus the turn distribution, each with a 95%
+ * Wilson confidence interval.
+ *
+ * Usage: java BatchSimulator [-n games] [-seed s] [-threads t] [level files...]
+ * Defaults: 1,000,000 games per level, level1.txt to level4.txt.
+ *
+ * Each chunk of games gets its own SplittableRandom split off one root
+ * generator, so threads never share a random source and the same seed
+ * gives the same counts whatever the thread count.
+ */
+public class BatchSimulator {
+    private static final int CHUNK_GAMES = 1 << 16; // Games per task
+    private static final double Z95 = 1.959964;
+
+    // --- Outcome of N games on one level ---
+    public static class Result {
+        long games;
+        long wins;
+        long captures;
+        long timeouts;
+        final long[] winTurns = new long[GameState.MAX_MOVES + 1];     // [t] wins on turn t (1-based)
+        final long[] captureTurns = new long[GameState.MAX_MOVES + 1]; // [t] target lost on turn t
+        long elapsedMillis;
+
+        void add(Result other) {
+            games += other.games;
+            wins += other.wins;
+            captures += other.captures;
+            timeouts += other.timeouts;
+            for (int t = 0; t <= GameState.MAX_MOVES; t++) {
+                winTurns[t] += other.winTurns[t];
+                captureTurns[t] += other.captureTurns[t];
+            }
+        }
+
+        public long getGames() { return games; }
+        public long getWins() { return wins; }
+        public long getCaptures() { return captures; }
+        public long getTimeouts() { return timeouts; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public double winRate() { return games == 0 ? 0 : (double) wins / games; }
+        public long winsOnTurn(int turn) { return winTurns[turn]; }
+        public long capturesOnTurn(int turn) { return captureTurns[turn]; }
+    }
+
+    private final int threads;
+
+    public BatchSimulator(int threads) {
+        this.threads = threads;
+    }
+
+    /** Plays 'games' random games of one level; 'seed' fixes the outcome */
+    public Result simulate(GameLoader level, long games, long seed) throws Exception {
+        int maxTurns = Math.min(GameState.MAX_MOVES, level.diceSequence.size());
+        int[] dice = new int[maxTurns];
+        for (int i = 0; i < maxTurns; i++) dice[i] = level.diceSequence.get(i);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Callable<Result>> chunks = new ArrayList<>();
+        for (long done = 0; done < games; done += CHUNK_GAMES) {
+            long count = Math.min(CHUNK_GAMES, games - done);
+            SplittableRandom random = root.split();
+            chunks.add(() -> playChunk(level.targetPiece, level.initialPositions, dice, count, random));
+        }
+
+        long start = System.nanoTime();
+        Result total = new Result();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Result> chunk : pool.invokeAll(chunks)) total.add(chunk.get());
+        } finally {
+            pool.shutdown();
+        }
+        total.elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        return total;
+    }
+
+    // The game loop of GameMain, minus the printing
+    static Result playChunk(int targetPiece, int[] startPositions, int[] dice, long games,
+                            SplittableRandom random) {
+        Result result = new Result();
+        Board board = new Board(startPositions);
+        int[] moves = new int[GameState.MAX_MOVES_PER_TURN];
+        int target = targetPiece - 1;
+
+        for (long game = 0; game < games; game++) {
+            board.load(startPositions);
+            int outcome = 0; // 0 = timeout, 1 = win, 2 = captured
+            int turn = 0;
+            while (turn < dice.length) {
+                int count = board.generateMoves(dice[turn], moves);
+                turn++;
+                if (count == 0) continue; // No moves possible, skip the turn
+                board.makeMove(moves[random.nextInt(count)]);
+
+                int targetPos = board.positionOf(target);
+                if (targetPos == GameState.GOAL_POS) { outcome = 1; break; }
+                if (targetPos == -1) { outcome = 2; break; }
+            }
+
+            if (outcome == 1) {
+                result.wins++;
+                result.winTurns[turn]++;
+            } else if (outcome == 2) {
+                result.captures++;
+                result.captureTurns[turn]++;
+            } else {
+                result.timeouts++;
+            }
+        }
+        result.games = games;
+        return result;
+    }
+
+    // --- Statistics ---
+    // 95% Wilson score interval for 'hits' out of 'n', as {low, high}
+    public static double[] wilson(long hits, long n) {
+        if (n == 0) return new double[] {0, 1};
+        double p = (double) hits / n;
+        double z2 = Z95 * Z95;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double half = Z95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+        return new double[] {Math.max(0, centre - half), Math.min(1, centre + half)};
+    }
+
+    private static String rate(long hits, long n) {
+        double[] ci = wilson(hits, n);
+        return String.format("%8.4f%%  [%.4f%%, %.4f%%]",
+                100.0 * hits / Math.max(1, n), 100 * ci[0], 100 * ci[1]);
+    }
+
+    public static void printReport(String name, Result r) {
+        System.out.println("=== " + name + " ===");
+        System.out.printf("Games: %,d in %,d ms (%,.0f games/min)%n",
+                r.games, r.elapsedMillis, r.games * 60000.0 / Math.max(1, r.elapsedMillis));
+        System.out.println("Win rate:     " + rate(r.wins, r.games));
+        System.out.println("Capture rate: " + rate(r.captures, r.games));
+        System.out.println("Timeout rate: " + rate(r.timeouts, r.games));
+
+        if (r.wins > 0) {
+            // Mean with a normal-approximation interval, plus the median
+            double sum = 0, sumSq = 0;
+            long seen = 0, median = 0;
+            for (int t = 1; t <= GameState.MAX_MOVES; t++) {
+                sum += (double) t * r.winTurns[t];
+                sumSq += (double) t * t * r.winTurns[t];
+                seen += r.winTurns[t];
+                if (median == 0 && seen * 2 >= r.wins) median = t;
+            }
+            double mean = sum / r.wins;
+            double sd = Math.sqrt(Math.max(0, sumSq / r.wins - mean * mean));
+            double half = Z95 * sd / Math.sqrt(r.wins);
+            System.out.printf("Turns to win: mean %.3f [%.3f, %.3f], median %d%n",
+                    mean, mean - half, mean + half, median);
+        }
+
+        System.out.println("Turn   P(win on turn)                        P(captured on turn)");
+        for (int t = 1; t <= GameState.MAX_MOVES; t++) {
+            if (r.winTurns[t] == 0 && r.captureTurns[t] == 0) continue;
+            System.out.printf("%4d   %s   %s%n", t, rate(r.winTurns[t], r.games), rate(r.captureTurns[t], r.games));
+        }
+        System.out.println();
+    }
+
+    public static void main(String[] args) throws Exception {
+        long games = 1_000_000;
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> levels = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-n": games = Long.parseLong(args[++i]); break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                default: levels.add(args[i]);
+            }
+        }
+        if (levels.isEmpty()) {
+            for (int i = 1; i <= 4; i++) levels.add("level" + i + ".txt");
+        }
+
+        System.out.println("Seed " + seed + ", " + threads + " threads, " + games + " games per level\n");
+        BatchSimulator simulator = new BatchSimulator(threads);
+        for (String file : levels) {
+            printReport(file, simulator.simulate(new GameLoader(file), games, seed));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Solves every level file in a directory without any interaction and
+ * prints, per level: status, optimal length, the moves, nodes expanded
+ * and time.
+ *
+ * Levels are solved by AIPlayer (anytime A*, see AIPlayer.solve with a
+ * SolveBudget) on a fixed number of threads. Results are printed as
+ * each level finishes, not in file order, so one slow level never holds
+ * up the others. The per-level timeout is the solve budget: a level
+ * that runs out of time is reported as TIMEOUT with its best partial
+ * plan instead of blocking a thread.
+ *
+ * Usage: java BatchSolver [-threads n] [-timeout ms] [-nodes n] [-glob pattern] [-csv file] <level dir>
+ *    or: java GameMain --solve [options] <level dir>
+ * Defaults: every core, 60 s per level, no node limit, level*.txt.
+ */
+public class BatchSolver {
+    public enum Status { OPTIMAL, NO_SOLUTION, TIMEOUT, ERROR }
+
+    // --- One solved level ---
+    public static class LevelResult {
+        final String level;
+        Status status = Status.ERROR;
+        List<Integer> moves = new ArrayList<>();
+        long expandedNodes;
+        long millis;
+        String error = "";
+
+        LevelResult(String level) {
+            this.level = level;
+        }
+
+        public String getLevel() { return level; }
+        public Status getStatus() { return status; }
+        public List<Integer> getMoves() { return moves; }
+        public long getExpandedNodes() { return expandedNodes; }
+        public long getMillis() { return millis; }
+
+        // Optimal number of moves, or -1 if this result doesn't prove one
+        public int optimalLength() {
+            return status == Status.OPTIMAL ? moves.size() : -1;
+        }
+    }
+
+    // Gets each result on the calling thread, as soon as its level is done
+    public interface ResultListener {
+        void onResult(LevelResult result);
+    }
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long timeoutMillis = 60_000;
+    private long maxNodes = Long.MAX_VALUE;
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setTimeoutMillis(long millis) {
+        this.timeoutMillis = millis;
+    }
+
+    public void setMaxNodes(long nodes) {
+        this.maxNodes = nodes;
+    }
+
+    /** Solves all 'files', calling 'listener' in completion order. Returns the results in that order too. */
+    public List<LevelResult> solveAll(List<File> files, ResultListener listener) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<LevelResult> done = new ExecutorCompletionService<>(pool);
+        try {
+            for (File file : files) done.submit(() -> solve(file));
+
+            List<LevelResult> results = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                LevelResult result;
+                try {
+                    result = done.take().get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    continue; // solve() catches everything itself
+                }
+                results.add(result);
+                listener.onResult(result);
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LevelResult solve(File file) {
+        LevelResult result = new LevelResult(file.getName());
+        long start = System.currentTimeMillis();
+        try {
+            GameLoader level = new GameLoader(file.getPath());
+            AIPlayer ai = new AIPlayer(level.targetPiece);
+            ai.setSolutionCache(null);
+            ai.setLogging(false); // Keeps the streamed rows readable
+            ai.setDiceSequence(level.diceSequence);
+            SolveResult solved = ai.solve(level.initialPositions, 0, SolveBudget.of(timeoutMillis, maxNodes));
+
+            result.moves = solved.getMoves();
+            result.expandedNodes = solved.getExpandedNodes();
+            if (!solved.isOptimal()) {
+                result.status = Status.TIMEOUT;
+            } else {
+                result.status = solved.reachesGoal() ? Status.OPTIMAL : Status.NO_SOLUTION;
+            }
+        } catch (Exception e) {
+            result.status = Status.ERROR;
+            result.error = e.toString();
+        }
+        result.millis = System.currentTimeMillis() - start;
+        return result;
+    }
+
+    // Level files in 'dir' matching a glob such as "level*.txt", sorted by name
+    public static List<File> levelFiles(File dir, String glob) {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        File[] files = dir.listFiles(f -> f.isFile() && matcher.matches(f.toPath().getFileName()));
+        if (files == null) return new ArrayList<>();
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    private static String movesToString(List<Integer> moves) {
+        StringBuilder sb = new StringBuilder();
+        for (int move : moves) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(move);
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        BatchSolver solver = new BatchSolver();
+        String glob = "level*.txt";
+        File dir = null, csv = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-threads": solver.setThreads(Integer.parseInt(args[++i])); break;
+                case "-timeout": solver.setTimeoutMillis(Long.parseLong(args[++i])); break;
+                case "-nodes": solver.setMaxNodes(Long.parseLong(args[++i])); break;
+                case "-glob": glob = args[++i]; break;
+                case "-csv": csv = new File(args[++i]); break;
+                default: dir = new File(args[i]);
+            }
+        }
+        if (dir == null || !dir.isDirectory()) {
+            System.out.println("Usage: java BatchSolver [-threads n] [-timeout ms] [-nodes n] "
+                    + "[-glob pattern] [-csv file] <level dir>");
+            return;
+        }
+        List<File> files = levelFiles(dir, glob);
+        if (files.isEmpty()) {
+            System.out.println("No " + glob + " files in " + dir.getAbsolutePath());
+            return;
+        }
+
+        PrintWriter csvOut = csv == null ? null : new PrintWriter(csv);
+        int[] counts = new int[Status.values().length];
+        long start = System.currentTimeMillis();
+        try {
+            System.out.println("Solving " + files.size() + " levels, " + solver.threads + " threads, "
+                    + solver.timeoutMillis + "ms per level\n");
+            System.out.printf("%-20s %-12s %6s %12s %9s  %s%n", "Level", "Status", "Length", "Nodes", "Time ms", "Moves");
+            if (csvOut != null) csvOut.println("level,status,optimal_length,nodes,millis,moves");
+
+            solver.solveAll(files, r -> {
+                counts[r.status.ordinal()]++;
+                String detail = r.status == Status.ERROR ? r.error : movesToString(r.moves);
+                System.out.printf("%-20s %-12s %6d %12d %9d  %s%n",
+                        r.level, r.status, r.optimalLength(), r.expandedNodes, r.millis, detail);
+                if (csvOut != null) {
+                    csvOut.println(r.level + "," + r.status + "," + r.optimalLength() + "," + r.expandedNodes
+                            + "," + r.millis + "," + (r.status == Status.ERROR ? "" : movesToString(r.moves)));
+                    csvOut.flush();
+                }
+            });
+        } finally {
+            if (csvOut != null) csvOut.close();
+        }
+
+        System.out.print("\nDone in " + (System.currentTimeMillis() - start) + "ms:");
+        for (Status status : Status.values()) System.out.print(" " + status + "=" + counts[status.ordinal()]);
+        System.out.println();
+    }
+}
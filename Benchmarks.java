@@ -0,0 +1,206 @@
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Micro-benchmarks for the hot paths: move generation, the A* solve, a
+ * full random game, level parsing and the leaderboard loader.
+ *
+ * Works like a small JMH without the build plumbing: every benchmark gets
+ * a few warm-up iterations, then timed iterations of a fixed length, and
+ * reports throughput (ops/s, with the spread over the iterations), time
+ * per op and allocation, both per op and as a rate (the same numbers
+ * JMH's GC profiler gives as gc.alloc.rate.norm / gc.alloc.rate).
+ * Allocation comes from com.sun.management.ThreadMXBean and is shown as
+ * "n/a" where the JVM doesn't support it. Everything runs in this JVM, so
+ * run it on its own and keep the machine quiet.
+ *
+ * Usage: java Benchmarks [-wi n] [-i n] [-t ms] [-f regex] [-rows n] [level files...]
+ * Defaults: 3 warm-up and 5 measured iterations of 1000 ms, level1-4.txt,
+ * a 100,000-row synthetic leaderboard. -f only runs benchmarks whose name
+ * matches the regex.
+ */
+public class Benchmarks {
+    // One benchmark operation. The returned value is folded into 'sink' so
+    // the JIT can't drop the work as dead code.
+    interface Op {
+        long run() throws Exception;
+    }
+
+    private static final int STATE_SAMPLES = 1024; // Positions per level for the move generation benchmarks
+
+    private static volatile long sink;
+
+    private int warmupIterations = 3;
+    private int iterations = 5;
+    private long iterationMillis = 1000;
+    private String filter = ".*";
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true"); // LeaderboardPage is a Swing panel
+        Benchmarks bench = new Benchmarks();
+        List<String> levels = new ArrayList<>();
+        int leaderboardRows = 100_000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi": bench.warmupIterations = Integer.parseInt(args[++i]); break;
+                case "-i": bench.iterations = Integer.parseInt(args[++i]); break;
+                case "-t": bench.iterationMillis = Long.parseLong(args[++i]); break;
+                case "-f": bench.filter = args[++i]; break;
+                case "-rows": leaderboardRows = Integer.parseInt(args[++i]); break;
+                default: levels.add(args[i]);
+            }
+        }
+        if (levels.isEmpty()) {
+            for (int i = 1; i <= 4; i++) levels.add("level" + i + ".txt");
+        }
+
+        System.out.printf("%-32s %-14s %14s %12s %12s %12s %10s%n",
+                "Benchmark", "Param", "ops/s", "+-", "us/op", "B/op", "MB/s");
+        for (String file : levels) bench.levelBenchmarks(file);
+        bench.leaderboardBenchmark(leaderboardRows);
+    }
+
+    // --- BENCHMARKS ---
+    private void levelBenchmarks(String file) throws Exception {
+        GameLoader level = new GameLoader(file);
+        String param = new File(file).getName();
+        int maxTurns = Math.min(GameState.MAX_MOVES, level.diceSequence.size());
+
+        // Positions the game actually passes through, from random playouts
+        int[][] states = new int[STATE_SAMPLES][];
+        int[] stateDice = new int[STATE_SAMPLES];
+        SplittableRandom random = new SplittableRandom(42);
+        int n = 0;
+        while (n < STATE_SAMPLES) {
+            GameState game = new GameState(level.targetPiece, level.initialPositions);
+            for (int turn = 0; turn < maxTurns && n < STATE_SAMPLES; turn++) {
+                int dice = level.diceSequence.get(turn);
+                List<Integer> moves = game.generatePossibleMoves(dice, game.getPositions());
+                if (moves.isEmpty()) break;
+                states[n] = game.getPositions();
+                stateDice[n++] = dice;
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+                if (game.isWon() || game.isTargetCaptured()) break;
+            }
+        }
+
+        GameState moveGen = new GameState();
+        int[] next = {0};
+        run("GameState.generatePossibleMoves", param, () -> {
+            int i = next[0]++ & (STATE_SAMPLES - 1);
+            return moveGen.generatePossibleMoves(stateDice[i], states[i]).size();
+        });
+
+        Board board = new Board(level.initialPositions);
+        int[] buffer = new int[GameState.MAX_MOVES_PER_TURN];
+        run("Board.generateMoves", param, () -> {
+            int i = next[0]++ & (STATE_SAMPLES - 1);
+            board.load(states[i]);
+            return board.generateMoves(stateDice[i], buffer);
+        });
+
+        AIPlayer ai = new AIPlayer(level.targetPiece);
+        ai.setSolutionCache(null);
+        ai.setLogging(false);
+        ai.setDiceSequence(level.diceSequence);
+        run("AIPlayer.solve (A*)", param,
+                () -> ai.solve(level.initialPositions, 0, SolveBudget.unlimited()).getExpandedNodes());
+
+        // The console game loop: GameState + RandomPlayer, lists and all
+        RandomPlayer player = new RandomPlayer();
+        run("RandomPlayer game", param, () -> {
+            GameState game = new GameState(level.targetPiece, level.initialPositions);
+            for (int turn = 0; turn < maxTurns; turn++) {
+                List<Integer> moves = game.generatePossibleMoves(level.diceSequence.get(turn), game.getPositions());
+                if (moves.isEmpty()) continue;
+                game.makeMove(player.chooseMove(moves, game.getPositions(), turn));
+                if (game.isWon() || game.isTargetCaptured()) return turn;
+            }
+            return maxTurns;
+        });
+
+        // The BatchSimulator game loop: one Board, no allocation
+        int[] dice = new int[maxTurns];
+        for (int i = 0; i < maxTurns; i++) dice[i] = level.diceSequence.get(i);
+        run("Board random game", param, () -> {
+            board.load(level.initialPositions);
+            for (int turn = 0; turn < maxTurns; turn++) {
+                int count = board.generateMoves(dice[turn], buffer);
+                if (count == 0) continue;
+                board.makeMove(buffer[random.nextInt(count)]);
+                int targetPos = board.positionOf(level.targetPiece - 1);
+                if (targetPos <= 0) return turn;
+            }
+            return maxTurns;
+        });
+
+        run("GameLoader", param, () -> new GameLoader(file).diceSequence.size());
+    }
+
+    private void leaderboardBenchmark(int rows) throws Exception {
+        // Mostly distinct humans plus the bots and duplicates the loader filters out
+        File file = Files.createTempFile("leaderboard", ".txt").toFile();
+        file.deleteOnExit();
+        SplittableRandom random = new SplittableRandom(7);
+        try (PrintWriter out = new PrintWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                int kind = random.nextInt(10);
+                String name = kind == 0 ? "RandomPlayer" : kind == 1 ? "AIPlayer" : "Player" + random.nextInt(rows / 2 + 1);
+                out.println(name + "," + (1 + random.nextInt(4)) + "," + (random.nextBoolean() ? "Won" : "Lost"));
+            }
+        }
+
+        LeaderboardPage page = new LeaderboardPage(null);
+        run("LeaderboardPage.loadLeaderboard", rows + " rows", () -> {
+            page.loadLeaderboard(file);
+            return 1;
+        });
+        file.delete();
+    }
+
+    // --- HARNESS ---
+    private void run(String name, String param, Op op) throws Exception {
+        if (!name.matches(filter)) return;
+        double[] opsPerSec = new double[iterations];
+        long totalOps = 0, totalNanos = 0, totalBytes = 0;
+        for (int i = 0; i < warmupIterations; i++) iteration(op);
+        for (int i = 0; i < iterations; i++) {
+            long[] r = iteration(op);
+            opsPerSec[i] = r[0] * 1e9 / r[1];
+            totalOps += r[0];
+            totalNanos += r[1];
+            totalBytes = (r[2] < 0 || totalBytes < 0) ? -1 : totalBytes + r[2];
+        }
+
+        double mean = 0;
+        for (double v : opsPerSec) mean += v / iterations;
+        double var = 0;
+        for (double v : opsPerSec) var += (v - mean) * (v - mean);
+        double sd = iterations > 1 ? Math.sqrt(var / (iterations - 1)) : 0;
+
+        String bytesPerOp = totalBytes < 0 ? "n/a" : String.format("%,.0f", (double) totalBytes / totalOps);
+        String allocRate = totalBytes < 0 ? "n/a" : String.format("%,.1f", totalBytes / 1048576.0 / (totalNanos / 1e9));
+        System.out.printf("%-32s %-14s %,14.1f %,12.1f %,12.3f %12s %10s%n",
+                name, param, mean, sd, totalNanos / 1e3 / totalOps, bytesPerOp, allocRate);
+    }
+
+    // Runs 'op' for one iteration: {ops, nanos, allocated bytes or -1}
+    private long[] iteration(Op op) throws Exception {
+        long bytesBefore = SolverStats.threadAllocatedBytes();
+        long start = System.nanoTime();
+        long end = start + iterationMillis * 1_000_000L;
+        long ops = 0, acc = 0, now;
+        do {
+            acc += op.run();
+            ops++;
+        } while ((now = System.nanoTime()) < end);
+        long bytesAfter = SolverStats.threadAllocatedBytes();
+        sink += acc;
+        long bytes = (bytesBefore < 0 || bytesAfter < 0) ? -1 : bytesAfter - bytesBefore;
+        return new long[] {ops, now - start, bytes};
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Bitboard view of the 10x10 board. Squares 0-63 live in 'occLo' and
+ * squares 64-99 in 'occHi', so "is anything on this square" is one bit
+ * test. 'pieceAt' maps a square straight to the piece standing on it,
+ * and 'positions' keeps the usual piece -> square array in sync.
+ *
+ * makeMove() changes the board in place and returns a small int undo
+ * record; unmakeMove() takes that record and restores the board exactly.
+ */
+public class Board {
+    // NEIGHBOR_LO/HI[sq] = bitmask of squares a piece on 'sq' can move to
+    static final long[] NEIGHBOR_LO = new long[100];
+    static final long[] NEIGHBOR_HI = new long[100];
+
+    static {
+        for (int sq = 0; sq < 100; sq++) {
+            for (int n : GameState.NEIGHBORS[sq]) {
+                if (n < 64) NEIGHBOR_LO[sq] |= 1L << n;
+                else NEIGHBOR_HI[sq] |= 1L << (n - 64);
+            }
+        }
+    }
+
+    private long occLo;
+    private long occHi;
+    private final byte[] pieceAt = new byte[100]; // piece number (1-6), 0 = empty
+    private final int[] positions = new int[6];
+
+    public Board(int[] initialPositions) {
+        load(initialPositions);
+    }
+
+    // Resets the whole board to the given positions (-1 = captured)
+    public void load(int[] newPositions) {
+        for (int i = 0; i < 6; i++) {
+            if (positions[i] != -1) pieceAt[positions[i]] = 0;
+        }
+        occLo = 0;
+        occHi = 0;
+        for (int i = 0; i < 6; i++) {
+            int sq = newPositions[i];
+            positions[i] = sq;
+            if (sq == -1) continue;
+            pieceAt[sq] = (byte) (i + 1);
+            if (sq < 64) occLo |= 1L << sq;
+            else occHi |= 1L << (sq - 64);
+        }
+    }
+
+    public boolean isOccupied(int square) {
+        return square < 64
+                ? (occLo & (1L << square)) != 0
+                : (occHi & (1L << (square - 64))) != 0;
+    }
+
+    /** @return the piece number (1-6) on 'square', or -1 if it is empty */
+    public int getPieceAt(int square) {
+        return isOccupied(square) ? pieceAt[square] : -1;
+    }
+
+    /** @return the square of piece index 'pieceIdx' (0-5), or -1 if captured */
+    public int positionOf(int pieceIdx) {
+        return positions[pieceIdx];
+    }
+
+    // Bit i set = piece i + 1 is still on the board
+    public int aliveMask() {
+        return GameState.aliveMask(positions);
+    }
+
+    // Copy of the piece -> square array, safe to hand to players
+    public int[] getPositions() {
+        return positions.clone();
+    }
+
+    public void copyPositions(int[] out) {
+        System.arraycopy(positions, 0, out, 0, 6);
+    }
+
+    // --- MAKE / UNMAKE ---
+    // Undo record layout: bits 0-9 move, bits 10-16 origin square,
+    // bits 17-19 captured piece number (0 = nothing captured)
+    public int makeMove(int move) {
+        int pieceIdx = (move / 100) - 1;
+        int dest = move % 100;
+        int from = positions[pieceIdx];
+
+        int captured = 0;
+        if (isOccupied(dest)) {
+            captured = pieceAt[dest];
+            positions[captured - 1] = -1;
+        } else {
+            setBit(dest);
+        }
+        clearBit(from);
+        pieceAt[from] = 0;
+        pieceAt[dest] = (byte) (pieceIdx + 1);
+        positions[pieceIdx] = dest;
+
+        return move | (from << 10) | (captured << 17);
+    }
+
+    public void unmakeMove(int undo) {
+        int move = undoMove(undo);
+        int pieceIdx = (move / 100) - 1;
+        int dest = move % 100;
+        int from = undoFrom(undo);
+        int captured = undoCaptured(undo);
+
+        positions[pieceIdx] = from;
+        pieceAt[from] = (byte) (pieceIdx + 1);
+        setBit(from);
+        if (captured != 0) {
+            positions[captured - 1] = dest;
+            pieceAt[dest] = (byte) captured;
+        } else {
+            pieceAt[dest] = 0;
+            clearBit(dest);
+        }
+    }
+
+    /** @return the move (piece * 100 + square) an undo record belongs to */
+    public static int undoMove(int undo) {
+        return undo & 0x3FF;
+    }
+
+    public static int undoFrom(int undo) {
+        return (undo >>> 10) & 0x7F;
+    }
+
+    /** @return the piece number captured by the move (1-6), or 0 */
+    public static int undoCaptured(int undo) {
+        return undo >>> 17;
+    }
+
+    // --- MOVE GENERATION ---
+    public int generateMoves(int diceNumber, int[] out) {
+        return generateMoves(diceNumber, positions, out);
+    }
+
+    /**
+     * The one move generator: every legal move (piece * 100 + square) for
+     * this dice roll, written to 'out' (room for MAX_MOVES_PER_TURN), lowest
+     * square first. Moves only depend on where the pieces are, so this also
+     * serves GameState.generateMoves for plain position arrays.
+     */
+    static int generateMoves(int diceNumber, int[] positions, int[] out) {
+        int pieces = GameState.selectablePieces(diceNumber, positions);
+        int count = 0;
+        for (int i = 0; i < 6; i++) {
+            if ((pieces & (1 << i)) == 0) continue;
+            int base = (i + 1) * 100;
+            int sq = positions[i];
+            for (long m = NEIGHBOR_LO[sq]; m != 0; m &= m - 1) {
+                out[count++] = base + Long.numberOfTrailingZeros(m);
+            }
+            for (long m = NEIGHBOR_HI[sq]; m != 0; m &= m - 1) {
+                out[count++] = base + 64 + Long.numberOfTrailingZeros(m);
+            }
+        }
+        return count;
+    }
+
+    private void setBit(int square) {
+        if (square < 64) occLo |= 1L << square;
+        else occHi |= 1L << (square - 64);
+    }
+
+    private void clearBit(int square) {
+        if (square < 64) occLo &= ~(1L << square);
+        else occHi &= ~(1L << (square - 64));
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.Arrays;
+
+/**
+ * Bucket (Dial) priority queue for small non-negative integer keys.
+ * Each key has its own bucket, and each bucket is an intrusive linked
+ * stack threaded through the 'next' array, so push and pop are O(1)
+ * (apart from skipping empty buckets) and ties come out LIFO, which
+ * makes A* dive deeper first among equal f scores.
+ *
+ * Values are expected to be small dense ints (node indices).
+ */
+public class BucketQueue {
+    private int[] head;  // head[key] = last value pushed with that key, -1 if empty
+    private int[] next;  // next[value] = value below it in the same bucket
+    private int minKey;  // no bucket below this one is non-empty
+    private int size;
+
+    public BucketQueue() {
+        this(64, 1 << 12);
+    }
+
+    public BucketQueue(int maxKey, int valueCapacity) {
+        head = new int[maxKey + 1];
+        Arrays.fill(head, -1);
+        next = new int[valueCapacity];
+        minKey = head.length;
+    }
+
+    public void push(int value, int key) {
+        if (key >= head.length) {
+            int old = head.length;
+            head = Arrays.copyOf(head, Math.max(key + 1, old * 2));
+            Arrays.fill(head, old, head.length, -1);
+        }
+        if (value >= next.length) next = Arrays.copyOf(next, Math.max(value + 1, next.length * 2));
+        next[value] = head[key];
+        head[key] = value;
+        if (key < minKey) minKey = key;
+        size++;
+    }
+
+    /** Removes and returns the most recently pushed value with the smallest key. */
+    public int pop() {
+        while (head[minKey] == -1) minKey++;
+        int value = head[minKey];
+        head[minKey] = next[value];
+        size--;
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        if (size > 0) Arrays.fill(head, -1);
+        size = 0;
+        minKey = head.length;
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Retrograde table of the fewest turns the target piece still needs to
+ * reach square 0, for every (turn, set of living pieces, target square),
+ * under the level's fixed dice sequence.
+ *
+ * It is computed on a relaxed version of the game: on each turn the dice
+ * picks a piece exactly like the real rules (nearest living piece when the
+ * rolled one is gone), the target only moves when it is the picked piece,
+ * and at most one other piece can be captured per turn, but from anywhere
+ * on the board. Every real game is also a legal relaxed game, so the table
+ * never overestimates (admissible, and consistent for A*), while it still
+ * knows that the target sits still on turns the dice hands to someone else.
+ *
+ * Tables only depend on the target piece and the dice, so they are built
+ * once (one turn layer at a time, masks in parallel) and cached. The cache
+ * keeps the CACHE_SIZE most recently used levels (~200 KB each), so tools
+ * that go through thousands of levels don't pile them all up.
+ */
+public class DistanceTablebase {
+    public static final int UNREACHABLE = Byte.MAX_VALUE;
+
+    private static final int MASKS = 1 << 6;
+    private static final int CACHE_SIZE = 64;
+    // Access order + eldest removal = LRU (same idea as SolutionCache)
+    private static final Map<String, DistanceTablebase> CACHE = new LinkedHashMap<String, DistanceTablebase>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DistanceTablebase> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final int targetIdx;
+    private final int maxTurns;
+    // table[turn][aliveMask * 100 + square]; the extra last layer is all UNREACHABLE
+    private final byte[][] table;
+
+    private DistanceTablebase(int targetPiece, List<Integer> diceSequence) {
+        this.targetIdx = targetPiece - 1;
+        this.maxTurns = Math.min(GameState.MAX_MOVES, diceSequence.size());
+        this.table = new byte[maxTurns + 1][MASKS * 100];
+
+        Arrays.fill(table[maxTurns], (byte) UNREACHABLE);
+        for (int mask = 0; mask < MASKS; mask++) table[maxTurns][mask * 100] = 0;
+
+        // Work backwards: layer t only needs layer t + 1
+        for (int t = maxTurns - 1; t >= 0; t--) {
+            final int turn = t;
+            final int dice = diceSequence.get(t);
+            IntStream.range(0, MASKS).parallel().forEach(mask -> fillLayer(turn, dice, mask));
+        }
+    }
+
+    /** Cached table for this target piece and dice sequence. */
+    public static DistanceTablebase forLevel(int targetPiece, List<Integer> diceSequence) {
+        int turns = Math.min(GameState.MAX_MOVES, diceSequence.size());
+        String key = targetPiece + ":" + diceSequence.subList(0, turns);
+        synchronized (CACHE) {
+            DistanceTablebase cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+        // Built outside the lock so other levels aren't held up; two threads
+        // asking for the same new level may both build it, the first one wins
+        DistanceTablebase built = new DistanceTablebase(targetPiece, diceSequence);
+        synchronized (CACHE) {
+            DistanceTablebase cached = CACHE.putIfAbsent(key, built);
+            return cached != null ? cached : built;
+        }
+    }
+
+    /**
+     * Fewest turns until the target reaches square 0, starting at 'turnIndex'
+     * with the given living pieces, or UNREACHABLE if it cannot make it in time.
+     */
+    public int distance(int turnIndex, int aliveMask, int targetSquare) {
+        if (targetSquare == -1) return UNREACHABLE;
+        if (turnIndex > maxTurns) return targetSquare == 0 ? 0 : UNREACHABLE;
+        return table[turnIndex][aliveMask * 100 + targetSquare];
+    }
+
+    private void fillLayer(int turn, int dice, int mask) {
+        byte[] layer = table[turn];
+        byte[] next = table[turn + 1];
+        int base = mask * 100;
+
+        if ((mask & (1 << targetIdx)) == 0) {
+            // Target already captured: lost no matter what
+            Arrays.fill(layer, base, base + 100, (byte) UNREACHABLE);
+            return;
+        }
+
+        int movers = GameState.selectablePieces(dice, mask);
+        // Non-target pieces that could still be captured this turn
+        int capturable = mask & ~(1 << targetIdx);
+
+        for (int sq = 0; sq < 100; sq++) {
+            if (sq == 0) { layer[base] = 0; continue; }
+            if (sq == GameState.OBSTACLE_POS) { layer[base + sq] = (byte) UNREACHABLE; continue; }
+
+            int best = UNREACHABLE;
+            for (int p = 0; p < 6; p++) {
+                if ((movers & (1 << p)) == 0) continue;
+                // The moving piece can't capture itself
+                int victims = capturable & ~(1 << p);
+                if (p == targetIdx) {
+                    for (int n : GameState.NEIGHBORS[sq]) {
+                        best = Math.min(best, 1 + bestAfter(next, mask, victims, n));
+                    }
+                } else {
+                    best = Math.min(best, 1 + bestAfter(next, mask, victims, sq));
+                }
+            }
+            layer[base + sq] = (byte) Math.min(best, UNREACHABLE);
+        }
+    }
+
+    // Best next-turn value with the target on 'sq', capturing nothing or any one victim
+    private static int bestAfter(byte[] next, int mask, int victims, int sq) {
+        if (sq == 0) return 0;
+        int best = next[mask * 100 + sq];
+        for (int q = 0; q < 6; q++) {
+            if ((victims & (1 << q)) != 0) best = Math.min(best, next[(mask & ~(1 << q)) * 100 + sq]);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,362 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * AI for games where the dice are NOT known in advance. Every roll is
+ * treated as uniform 1..6, and each move is picked to maximise the
+ * probability that the target reaches square 0 within the turns left.
+ *
+ * The value of a position with k turns left is
+ *     V(s, k) = 1/6 * sum over dice d of  max over moves m of  V(s after m, k - 1)
+ * with V = 1 once the target is on 0 and V = 0 if it is captured or the
+ * turns run out. That tree is far too big to search to the end early in
+ * the game, so the search deepens one turn at a time (iterative horizon)
+ * until the time budget runs out, and positions at the horizon get a
+ * quick estimate (see leafEstimate). Once the horizon covers all turns
+ * left the value is exact.
+ *
+ * Results are memoised on (positions, turns left) in a fixed-size
+ * lock-free table, and the chance nodes near the root are split across
+ * a ForkJoinPool, one task per dice value.
+ */
+public class ExpectimaxPlayer extends Player implements AutoCloseable {
+    private static final int PARALLEL_PLIES = 2; // Chance nodes this close to the root get forked
+    private static final int TIME_CHECK_MASK = (1 << 10) - 1;
+    private static final long DEFAULT_TABLE_BYTES = 16L << 20; // 16 MB
+    private static final double ABORTED = -1;
+
+    // BINOMIAL_TAIL[k][s][n]: chance of at least n hits in k rolls when a roll hits with probability s/6
+    private static final double[][][] BINOMIAL_TAIL = buildBinomialTail();
+
+    private final int targetPiece;
+    private int maxTurns = GameState.MAX_MOVES;
+    private long timeBudgetMillis = 200;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long tableMemoryBytes = DEFAULT_TABLE_BYTES;
+
+    private ProbabilityTable table; // Kept for the whole game, values don't depend on the turn number
+    private ForkJoinPool pool;
+    private int turnsPlayed; // For callers that don't pass a turn index
+
+    // --- Per-move search state ---
+    private long deadline;
+    private volatile boolean timeUp;
+    private double lastValue;
+    private int lastHorizon;
+
+    public ExpectimaxPlayer(int targetPiece) {
+        this.targetPiece = targetPiece;
+    }
+
+    // Turn limit of the game (30 in the standard rules). Capped at GameState.MAX_MOVES,
+    // which the search tables are sized for; no game lasts longer anyway.
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = Math.max(0, Math.min(GameState.MAX_MOVES, maxTurns));
+    }
+
+    // Thinking time per move. The first search turn always completes, even over budget.
+    public void setTimeBudgetMillis(long millis) {
+        this.timeBudgetMillis = millis;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    public void setTableMemoryBytes(long bytes) {
+        this.tableMemoryBytes = bytes;
+        this.table = null;
+    }
+
+    // Stops the worker threads; the next chooseMove starts a new pool
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    // Win probability of the last chosen move, as far as the last search could see
+    public double getLastValue() {
+        return lastValue;
+    }
+
+    // How many turns ahead the last move was searched
+    public int getLastHorizon() {
+        return lastHorizon;
+    }
+
+    @Override
+    public int chooseMove(List<Integer> possibleMoves, int[] currentPositions) {
+        return chooseMove(possibleMoves, currentPositions, turnsPlayed);
+    }
+
+    @Override
+    public int chooseMove(List<Integer> possibleMoves, int[] currentPositions, int turnIndex) {
+        turnsPlayed = turnIndex + 1;
+        if (possibleMoves == null || possibleMoves.isEmpty()) return -1;
+        if (possibleMoves.size() == 1) return possibleMoves.get(0);
+
+        if (table == null) table = new ProbabilityTable(tableMemoryBytes);
+        if (pool == null) pool = new ForkJoinPool(parallelism);
+
+        // Turns left after this one
+        int turnsLeft = Math.max(0, maxTurns - turnIndex - 1);
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        timeUp = false;
+
+        int bestMove = possibleMoves.get(0);
+        for (int horizon = 0; horizon <= turnsLeft; horizon++) {
+            double[] values = evaluateMoves(possibleMoves, currentPositions, turnsLeft, horizon);
+            if (values == null) break; // Out of time, keep the last full result
+
+            int best = 0;
+            for (int i = 1; i < values.length; i++) {
+                if (values[i] > values[best]) best = i;
+            }
+            bestMove = possibleMoves.get(best);
+            lastValue = values[best];
+            lastHorizon = horizon;
+            if (values[best] >= 1.0 || values[best] <= 0.0) break; // Nothing left to decide
+        }
+        return bestMove;
+    }
+
+    // Value of every candidate move at one horizon, or null if time ran out
+    private double[] evaluateMoves(List<Integer> moves, int[] positions, int turnsLeft, int horizon) {
+        List<MoveTask> tasks = new ArrayList<>();
+        for (int move : moves) {
+            Board board = new Board(positions);
+            board.makeMove(move);
+            tasks.add(new MoveTask(board.getPositions(), turnsLeft, horizon));
+        }
+        // Horizon 0 is only leaf estimates and never checks the clock,
+        // so there is always an answer
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+
+        double[] values = new double[tasks.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = tasks.get(i).getRawResult();
+            if (values[i] == ABORTED) return null;
+        }
+        return values;
+    }
+
+    // --- SEARCH ---
+    // Win probability with 'turnsLeft' turns to go, looking 'horizon' turns ahead.
+    // 'ply' counts turns from the root, to decide where to fork.
+    private double value(Board board, int turnsLeft, int horizon, int ply, Scratch scratch) {
+        int targetPos = board.positionOf(targetPiece - 1);
+        if (targetPos == GameState.GOAL_POS) return 1.0;
+        if (targetPos == -1 || turnsLeft == 0) return 0.0;
+        // Even moving every turn, the target can't make it
+        if (ReachabilityAnalysis.kingDistance(targetPos) > turnsLeft) return 0.0;
+        if (horizon == 0) return leafEstimate(board.aliveMask(), targetPos, turnsLeft);
+
+        // Forked nodes get a fresh Scratch, so near the root check the clock every time
+        if (((++scratch.nodes & TIME_CHECK_MASK) == 0 || ply < PARALLEL_PLIES)
+                && System.nanoTime() > deadline) {
+            timeUp = true;
+        }
+        if (timeUp) return ABORTED;
+
+        int[] positions = board.getPositions();
+        long key = StateCodec.encode(positions, turnsLeft);
+        int depth = Math.min(horizon, turnsLeft); // Deeper than the turns left is just exact
+        double known = table.probe(key, depth);
+        if (known != ProbabilityTable.MISS) return known;
+
+        double total;
+        if (ply < PARALLEL_PLIES) {
+            List<DiceTask> tasks = new ArrayList<>(6);
+            for (int dice = 1; dice <= 6; dice++) {
+                tasks.add(new DiceTask(positions, dice, turnsLeft, horizon, ply));
+            }
+            RecursiveTask.invokeAll(tasks);
+            total = 0;
+            for (DiceTask task : tasks) {
+                double v = task.getRawResult();
+                if (v == ABORTED) return ABORTED;
+                total += v;
+            }
+        } else {
+            total = 0;
+            for (int dice = 1; dice <= 6; dice++) {
+                double v = bestAfterRoll(board, dice, turnsLeft, horizon, ply, scratch);
+                if (v == ABORTED) return ABORTED;
+                total += v;
+            }
+        }
+
+        double result = total / 6;
+        table.store(key, result, depth);
+        return result;
+    }
+
+    // Max node: the best move for one dice roll
+    private double bestAfterRoll(Board board, int dice, int turnsLeft, int horizon, int ply, Scratch scratch) {
+        int[] moves = scratch.moves[ply];
+        int count = board.generateMoves(dice, moves);
+        if (count == 0) return value(board, turnsLeft - 1, horizon - 1, ply + 1, scratch); // Turn is skipped
+
+        double best = 0;
+        for (int m = 0; m < count; m++) {
+            int undo = board.makeMove(moves[m]);
+            double v = value(board, turnsLeft - 1, horizon - 1, ply + 1, scratch);
+            board.unmakeMove(undo);
+            if (v == ABORTED) return ABORTED;
+            if (v > best) best = v;
+            if (best >= 1.0) break; // Can't do better than a sure win
+        }
+        return best;
+    }
+
+    // --- LEAF ESTIMATE ---
+    // Chance that the target gets picked at least kingDistance times in the turns left,
+    // when each roll picks it with the probability given by the living pieces.
+    // Ignores the obstacle and captures, so it is only a rough guide.
+    private double leafEstimate(int aliveMask, int targetPos, int turnsLeft) {
+        int hits = 0;
+        int targetBit = 1 << (targetPiece - 1);
+        for (int dice = 1; dice <= 6; dice++) {
+            if ((GameState.selectablePieces(dice, aliveMask) & targetBit) != 0) hits++;
+        }
+        return BINOMIAL_TAIL[turnsLeft][hits][ReachabilityAnalysis.kingDistance(targetPos)];
+    }
+
+    private static double[][][] buildBinomialTail() {
+        double[][][] tail = new double[GameState.MAX_MOVES + 1][7][GameState.MAX_MOVES + 2];
+        for (int s = 0; s <= 6; s++) {
+            double p = s / 6.0;
+            for (int k = 0; k <= GameState.MAX_MOVES; k++) {
+                // exact[n] = P(exactly n hits in k rolls)
+                double[] exact = new double[k + 1];
+                for (int n = 0; n <= k; n++) {
+                    exact[n] = choose(k, n) * Math.pow(p, n) * Math.pow(1 - p, k - n);
+                }
+                double sum = 0;
+                for (int n = k; n >= 0; n--) {
+                    sum += exact[n];
+                    tail[k][s][n] = Math.min(1.0, sum);
+                }
+            }
+        }
+        return tail;
+    }
+
+    private static double choose(int n, int k) {
+        double c = 1;
+        for (int i = 1; i <= k; i++) c = c * (n - k + i) / i;
+        return c;
+    }
+
+    // --- TASKS ---
+    // One candidate move at the root
+    private class MoveTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] positions;
+        private final int turnsLeft;
+        private final int horizon;
+
+        MoveTask(int[] positions, int turnsLeft, int horizon) {
+            this.positions = positions;
+            this.turnsLeft = turnsLeft;
+            this.horizon = horizon;
+        }
+
+        @Override
+        protected Double compute() {
+            return value(new Board(positions), turnsLeft, horizon, 0, new Scratch());
+        }
+    }
+
+    // One dice value of a chance node near the root
+    private class DiceTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] positions;
+        private final int dice;
+        private final int turnsLeft;
+        private final int horizon;
+        private final int ply;
+
+        DiceTask(int[] positions, int dice, int turnsLeft, int horizon, int ply) {
+            this.positions = positions;
+            this.dice = dice;
+            this.turnsLeft = turnsLeft;
+            this.horizon = horizon;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Double compute() {
+            return bestAfterRoll(new Board(positions), dice, turnsLeft, horizon, ply, new Scratch());
+        }
+    }
+
+    // Per-task buffers: one move list per ply, and a node counter for the clock checks
+    private static class Scratch {
+        final int[][] moves = new int[GameState.MAX_MOVES + 1][GameState.MAX_MOVES_PER_TURN];
+        long nodes;
+    }
+
+    // --- MEMO TABLE ---
+    // Same lockless XOR scheme as TranspositionTable, but the data word holds a
+    // float probability plus the horizon it was computed with. One entry per
+    // slot, always replaced.
+    private static class ProbabilityTable {
+        static final double MISS = -2;
+
+        private final AtomicLongArray slots;
+        private final int mask;
+
+        ProbabilityTable(long memoryBytes) {
+            long entries = Math.max(1, memoryBytes / (2 * Long.BYTES));
+            int count = (int) Math.min(Long.highestOneBit(entries), 1 << 26);
+            this.slots = new AtomicLongArray(count * 2);
+            this.mask = count - 1;
+        }
+
+        // Only returns values searched at least 'depth' turns deep
+        double probe(long key, int depth) {
+            key = nonZero(key);
+            int i = index(key);
+            long data = slots.getPlain(i + 1);
+            long check = slots.getPlain(i);
+            if ((check ^ data) != key || (int) (data >>> 32) < depth) return MISS;
+            return Float.intBitsToFloat((int) data);
+        }
+
+        void store(long key, double value, int depth) {
+            key = nonZero(key);
+            int i = index(key);
+            long data = (Float.floatToRawIntBits((float) value) & 0xFFFFFFFFL) | ((long) depth << 32);
+            slots.setPlain(i + 1, data);
+            slots.setPlain(i, key ^ data);
+        }
+
+        private int index(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) ((h >>> 32) & mask) * 2;
+        }
+
+        private static long nonZero(long key) {
+            return key == 0 ? 1 : key;
+        }
+    }
+}
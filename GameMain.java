@@ -3,6 +3,12 @@ import java.util.*;
 
 public class GameMain {
     public static void main(String[] args) throws Exception {
+        // Non-interactive: solve a whole directory of levels (see BatchSolver)
+        if (args.length > 0 && args[0].equals("--solve")) {
+            BatchSolver.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         // 1. Choice Validation (1 to 3)
@@ -62,9 +68,7 @@ public class GameMain {
         System.out.println("Target Piece: P" + loader.targetPiece); 
         System.out.println("Goal: Move P" + loader.targetPiece + " to Square 0");
 
-        GameState game = new GameState();
-        game.targetPiece = loader.targetPiece;
-        int[] currentPositions = loader.initialPositions.clone();
+        GameState game = new GameState(loader.targetPiece, loader.initialPositions);
 
         // Inside Step 4: Create Player Object
         Player player;
@@ -94,32 +98,28 @@ public class GameMain {
             System.out.println("Remaining Moves: " + movesLeft);
             System.out.println("Current Turn: " + (turn + 1) + " | Dice Rolled: " + dice);
 
-            List<Integer> moves = game.generatePossibleMoves(dice, currentPositions);
+            List<Integer> moves = game.generatePossibleMoves(dice, game.getPositions());
 
             if (moves.isEmpty()) {
                 System.out.println("No moves possible. Skipping turn.");
                 continue;
             }
 
-            int chosenMove = player.chooseMove(moves, currentPositions);
+            int chosenMove = player.chooseMove(moves, game.getPositions(), turn);
             
             int pieceToMove = chosenMove / 100;
             int destination = chosenMove % 100;
             System.out.println(playerName + " moves Piece " + pieceToMove + " to Square " + destination);
 
-            // Execute Logic
-            for (int i = 0; i < 6; i++) {
-                if (currentPositions[i] == destination) 
-                    currentPositions[i] = -1;
-            }
-            currentPositions[pieceToMove - 1] = destination;
+            // Execute Logic (captures whatever stands on the destination)
+            game.makeMove(chosenMove);
 
-            player.printMove(currentPositions, writer);
+            player.printMove(game.getPositions(), writer);
 
-            if (game.isWinning(currentPositions)) { 
+            if (game.isWon()) { 
                 won = true; 
                 break; }
-            if (currentPositions[game.targetPiece - 1] == -1) { 
+            if (game.isTargetCaptured()) { 
                 targetCaptured = true; 
                 break; }
         }
@@ -3,6 +3,7 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.PrintWriter;
@@ -19,13 +20,13 @@ public class GamePanel extends BackgroundImagePanel {
     private JLabel movesLeftLabel; // NEW: Label for the counter
     private JLabel infoLabel;
     private JButton nextTurnButton;
+    private JButton hintButton; // Human mode only
     private JButton settingsButton;
     private JButton[] gridButtons;
     
     // --- Game Logic ---
     private GameState gameState;
     private GameLoader loader;
-    private int[] currentPositions;
     private int currentTurn = 0;
     private int targetPiece;
 
@@ -42,8 +43,11 @@ public class GamePanel extends BackgroundImagePanel {
     private HumanPlayer humanPlayer;   
     private RandomPlayer randomPlayer; 
     private AIPlayer aiPlayer; 
+    private SwingWorker<Void, long[]> solveWorker; // Background AI solve, null when idle
+    private SwingWorker<Integer, Void> hintWorker; // Running hint, null when idle (one at a time)
     
     private static final int BOARD_SIZE = 10;
+    private static final SolveBudget HINT_BUDGET = SolveBudget.millis(50); // Keeps the Hint button snappy
 
     public GamePanel(MainInterface app) {
         super("setup_bg.jpg");
@@ -159,6 +163,17 @@ public class GamePanel extends BackgroundImagePanel {
         gbc.insets = new Insets(0, 0, 0, 0);
         centerWrapper.add(nextTurnButton, gbc);
 
+        // --- Hint Button (human mode) ---
+        hintButton = new RoundedButton("Hint");
+        hintButton.setPreferredSize(new Dimension(180, 50));
+        hintButton.setEnabled(false);
+        hintButton.addActionListener(e -> showHint());
+
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        gbc.insets = new Insets(5, 0, 0, 0);
+        centerWrapper.add(hintButton, gbc);
+
         // --- Info Label ---
         infoLabel = new JLabel("Welcome! Press Next Turn to start.");
         infoLabel.setFont(new Font("SansSerif", Font.BOLD | Font.ITALIC, 18));
@@ -184,6 +199,8 @@ public class GamePanel extends BackgroundImagePanel {
     // ============================
 
     public void startLevel(int levelNum, String playerName) {
+        cancelSolve(); // Play Again / new level: drop the old search
+        hintWorker = null; // A hint still running belongs to the old AIPlayer and is ignored
         try {
             String filename = "level" + levelNum + ".txt";
             if (!new File(filename).exists()) {
@@ -192,10 +209,9 @@ public class GamePanel extends BackgroundImagePanel {
             }
 
             loader = new GameLoader(filename);
-            gameState = new GameState();
-            gameState.targetPiece = loader.targetPiece;
+            // GameState owns the live board and applies every move (make/unmake)
+            gameState = new GameState(loader.targetPiece, loader.initialPositions);
             this.targetPiece = loader.targetPiece;
-            currentPositions = loader.initialPositions.clone();
             currentTurn = 0;
             
             this.aiPlayer = new AIPlayer(this.targetPiece); 
@@ -214,12 +230,19 @@ public class GamePanel extends BackgroundImagePanel {
             
             nextTurnButton.setText("Next Turn");
             nextTurnButton.setEnabled(true);
+            hintButton.setVisible(mainApp.getGameMode() == 1);
+            hintButton.setEnabled(false);
             
             updateBoard();
 
             gameFileWriter = new PrintWriter(new FileWriter("moves.txt"));
             loader.printGameDetails(playerName, gameFileWriter);
 
+            // AI mode: start thinking now, off the Event Dispatch Thread
+            if (mainApp.getGameMode() == 3) {
+                startBackgroundSolve();
+            }
+
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -254,7 +277,7 @@ public class GamePanel extends BackgroundImagePanel {
         }
 
         int dice = loader.diceSequence.get(currentTurn);
-        List<Integer> moves = gameState.generatePossibleMoves(dice, currentPositions);
+        List<Integer> moves = gameState.generatePossibleMoves(dice, gameState.getPositions());
 
         if (moves.isEmpty()) {
             infoLabel.setText("Turn " + (currentTurn + 1) + " (Dice " + dice + "): No moves possible.");
@@ -277,16 +300,21 @@ public class GamePanel extends BackgroundImagePanel {
             return; 
         } 
         
+        if (mode == 3 && solveWorker != null && !solveWorker.isDone()) {
+            infoLabel.setText("AI is still thinking...");
+            return;
+        }
+
         String playerName = (mode == 2) ? "Random Player" : "AI";
         
         int chosenMove = (mode == 2) 
             ? randomPlayer.chooseMove(moves) 
-            : aiPlayer.chooseMove(moves, currentPositions);
+            : aiPlayer.chooseMove(moves, gameState.getPositions(), currentTurn);
 
         if (chosenMove != -1) {
             int pieceId = chosenMove / 100;
             int destination = chosenMove % 100;
-            int currentPos = currentPositions[pieceId - 1];
+            int currentPos = gameState.positionOf(pieceId - 1);
 
             highlightComputerMove(currentPos, destination);
             infoLabel.setText(playerName + " (Dice " + dice + ") moves P" + pieceId + "...");
@@ -301,6 +329,56 @@ public class GamePanel extends BackgroundImagePanel {
         }
     }
 
+    // ============================
+    // BACKGROUND AI SOLVE
+    // ============================
+
+    private void startBackgroundSolve() {
+        final AIPlayer solver = aiPlayer;
+        final int[] startPositions = gameState.getPositions();
+        nextTurnButton.setEnabled(false);
+        infoLabel.setText("AI is thinking...");
+
+        solveWorker = new SwingWorker<Void, long[]>() {
+            @Override
+            protected Void doInBackground() {
+                solver.setProgressListener((nodes, millis) -> publish(new long[] {nodes, millis}));
+                solver.solve(startPositions);
+                return null;
+            }
+
+            @Override
+            protected void process(List<long[]> chunks) {
+                if (isCancelled()) return;
+                long[] latest = chunks.get(chunks.size() - 1);
+                infoLabel.setText(String.format("AI is thinking... %,d nodes, %.1fs", latest[0], latest[1] / 1000.0));
+            }
+
+            @Override
+            protected void done() {
+                // A cancelled worker belongs to a level we already left
+                if (isCancelled() || solver != aiPlayer) return;
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+                infoLabel.setText("AI is ready! Goal: Move P" + targetPiece + " to Square 0!");
+                nextTurnButton.setEnabled(!gameEnded);
+            }
+        };
+        solveWorker.execute();
+    }
+
+    // Stops the background solve, if any (leaving the level or restarting it)
+    private void cancelSolve() {
+        if (solveWorker != null) {
+            if (aiPlayer != null) aiPlayer.cancel();
+            solveWorker.cancel(true);
+            solveWorker = null;
+        }
+    }
+
     private void highlightComputerMove(int start, int end) {
         updateBoard(); 
         if (start >= 0 && start < gridButtons.length) {
@@ -317,14 +395,60 @@ public class GamePanel extends BackgroundImagePanel {
         
         infoLabel.setText("Your Turn! Dice: " + dice + ". Click a highlighted Piece.");
         nextTurnButton.setEnabled(false);
+        hintButton.setEnabled(hintWorker == null); // Re-enabled when a hint from the last turn finishes
         highlightValidPieces();
     }
 
+    // Asks the AI for the next move of a shortest win from the live position.
+    // Usually instant (the plan is reused while the player follows it), but
+    // a re-plan can take a moment, so it runs off the Event Dispatch Thread.
+    private void showHint() {
+        if (!isHumanTurn || hintWorker != null) return;
+        hintButton.setEnabled(false);
+        final AIPlayer solver = aiPlayer;
+        final int[] positions = gameState.getPositions();
+        final int turn = currentTurn;
+
+        hintWorker = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return solver.hint(positions, turn, HINT_BUDGET);
+            }
+
+            @Override
+            protected void done() {
+                if (hintWorker == this) hintWorker = null;
+                if (solver != aiPlayer) return; // Level we already left
+                hintButton.setEnabled(isHumanTurn); // Kept off while this hint ran
+                // Ignore hints for a turn that is already over
+                if (turn != currentTurn || !isHumanTurn) return;
+                int move;
+                try {
+                    move = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                    return;
+                }
+                if (move == -1) {
+                    infoLabel.setText("Hint: P" + targetPiece + " can't reach Square 0 in time anymore.");
+                    return;
+                }
+                int pieceId = move / 100;
+                int destination = move % 100;
+                highlightValidPieces();
+                gridButtons[gameState.positionOf(pieceId - 1)].setBackground(new Color(135, 206, 250));
+                gridButtons[destination].setBorder(BorderFactory.createLineBorder(new Color(30, 144, 255), 3));
+                infoLabel.setText("Hint: move P" + pieceId + " to Square " + destination + ".");
+            }
+        };
+        hintWorker.execute();
+    }
+
     private void highlightValidPieces() {
         updateBoard(); 
         
-        for (int i = 0; i < currentPositions.length; i++) {
-            int pos = currentPositions[i];
+        for (int i = 0; i < 6; i++) {
+            int pos = gameState.positionOf(i);
             int pieceId = i + 1;
             
             if (pos != -1 && humanPlayer.canPieceMove(pieceId)) {
@@ -344,6 +468,7 @@ public class GamePanel extends BackgroundImagePanel {
         if (humanPlayer.getSelectedPiece() != -1 && humanPlayer.isValidDestination(index)) {
             executeMove(humanPlayer.getSelectedPiece(), index);
             isHumanTurn = false;
+            hintButton.setEnabled(false);
             finishTurn();
             return; // Stop here! Do not try to select the piece we just captured/moved to.
         }
@@ -376,17 +501,12 @@ public class GamePanel extends BackgroundImagePanel {
     }
 
     private int getPieceAt(int index) {
-        for (int i = 0; i < currentPositions.length; i++) {
-            if (currentPositions[i] == index) return i + 1;
-        }
-        return -1;
+        return gameState.getBoard().getPieceAt(index);
     }
 
     private void executeMove(int pieceToMove, int destination) {
-        for (int i = 0; i < 6; i++) {
-            if (currentPositions[i] == destination) currentPositions[i] = -1;
-        }
-        currentPositions[pieceToMove - 1] = destination;
+        // Captures whatever stands on the destination square
+        gameState.makeMove(pieceToMove * 100 + destination);
 
         if (gameFileWriter != null) {
             recordMoveToFile();
@@ -396,9 +516,9 @@ public class GamePanel extends BackgroundImagePanel {
     private void recordMoveToFile() {
         try {
             if (gameFileWriter != null) {
-                for (int i = 0; i < currentPositions.length; i++) {
-                    gameFileWriter.print(currentPositions[i]);
-                    if (i < currentPositions.length - 1) {
+                for (int i = 0; i < 6; i++) {
+                    gameFileWriter.print(gameState.positionOf(i));
+                    if (i < 5) {
                         gameFileWriter.print(" ");
                     }
                 }
@@ -417,12 +537,12 @@ public class GamePanel extends BackgroundImagePanel {
         currentTurn++; 
         updateMovesLeftLabel();
 
-        if (gameState.isWinning(currentPositions)) {
+        if (gameState.isWon()) {
             endGame(true, "CONGRATULATIONS! Puzzle solved successfully.");
             return;
         }
 
-        if (currentPositions[targetPiece - 1] == -1) {
+        if (gameState.isTargetCaptured()) {
             endGame(false, "FAILED! Target piece " + targetPiece + " was captured.");
             return;
         }
@@ -512,6 +632,7 @@ public class GamePanel extends BackgroundImagePanel {
         quitBtn.addActionListener(e -> {
             dialog.dispose();
             SoundManager.getInstance().playSound("click.wav");
+            cancelSolve();
             mainApp.showView("HOME");
         });
 
@@ -534,8 +655,8 @@ public class GamePanel extends BackgroundImagePanel {
         
         gridButtons[0].setBorder(BorderFactory.createLineBorder(new Color(255, 215, 0), 2));
         
-        for (int i = 0; i < currentPositions.length; i++) {
-            int pos = currentPositions[i];
+        for (int i = 0; i < 6; i++) {
+            int pos = gameState.positionOf(i);
             if (pos != -1) {
                 int index = (pos / 10) * BOARD_SIZE + (pos % 10);
                 if (index >= 0 && index < gridButtons.length) {
@@ -606,6 +727,7 @@ public class GamePanel extends BackgroundImagePanel {
         homeBtn.addActionListener(e -> {
             SoundManager.getInstance().playSound("click.wav");
             dialog.dispose();
+            cancelSolve();
             mainApp.showView("HOME");
         });
         content.add(homeBtn);
@@ -1,49 +1,171 @@
 import java.util.*;
 
 public class GameState {
-    int[] piecePositions; 
     int targetPiece;
     int boardSize = 10;
 
-    public List<Integer> generatePossibleMoves(int diceNumber, int[] currentPositions) {
-        List<Integer> possiblePieces = new ArrayList<>();
-        int pieceIdx = diceNumber - 1;
+    // --- Live game (only set when created with a starting position) ---
+    private Board board;
+    private int turnIndex;
+    private long hash; // Zobrist hash of board + turnIndex, updated per move
 
-        if (currentPositions[pieceIdx] != -1) {
-            possiblePieces.add(diceNumber);
-        } else {
-            int smaller = -1, bigger = -1;
-            for (int i = pieceIdx - 1; i >= 0; i--) {
-                if (currentPositions[i] != -1) { smaller = i + 1; break; }
-            }
-            for (int i = pieceIdx + 1; i < 6; i++) {
-                if (currentPositions[i] != -1) { bigger = i + 1; break; }
-            }
-            if (smaller != -1) possiblePieces.add(smaller);
-            if (bigger != -1) possiblePieces.add(bigger);
-        }
+    public static final int OBSTACLE_POS = 22;
+    public static final int GOAL_POS = 0;
+    // Turns in a game, however long the level's dice sequence is
+    public static final int MAX_MOVES = 30;
+    // Max moves in one turn: two candidate pieces x 8 directions
+    public static final int MAX_MOVES_PER_TURN = 16;
+
+    // NEIGHBORS[sq] = every square a piece on 'sq' can move to (king moves,
+    // inside the board, never the obstacle). Built once, in the same
+    // row-then-column order the old nested dr/dc loops produced.
+    static final int[][] NEIGHBORS = buildNeighbors();
 
-        List<Integer> moves = new ArrayList<>();
-        for (int pNum : possiblePieces) {
-            int pos = currentPositions[pNum - 1];
+    private static int[][] buildNeighbors() {
+        int[][] table = new int[100][];
+        int[] buf = new int[8];
+        for (int pos = 0; pos < 100; pos++) {
             int row = pos / 10;
             int col = pos % 10;
-
+            int count = 0;
             for (int dr = -1; dr <= 1; dr++) {
                 for (int dc = -1; dc <= 1; dc++) {
                     if (dr == 0 && dc == 0) continue;
                     int nr = row + dr, nc = col + dc;
                     int nPos = nr * 10 + nc;
-                    if (nr >= 0 && nr < 10 && nc >= 0 && nc < 10 && nPos != 22) {
-                        moves.add(pNum * 100 + nPos); 
+                    if (nr >= 0 && nr < 10 && nc >= 0 && nc < 10 && nPos != OBSTACLE_POS) {
+                        buf[count++] = nPos;
                     }
                 }
             }
+            table[pos] = Arrays.copyOf(buf, count);
+        }
+        return table;
+    }
+
+    /**
+     * Writes every legal move (piece * 100 + square) for this dice roll into
+     * 'out' and returns how many there are. 'out' needs room for
+     * MAX_MOVES_PER_TURN entries. Nothing is allocated, so the solver can call
+     * this on every node. Same generator as Board.generateMoves.
+     */
+    public static int generateMoves(int diceNumber, int[] currentPositions, int[] out) {
+        return Board.generateMoves(diceNumber, currentPositions, out);
+    }
+
+    /**
+     * Which pieces may move for this dice roll, as a bitmask of piece indices
+     * (bit 0 = P1). The dice piece if it is alive, otherwise the nearest
+     * smaller and nearest bigger living piece.
+     */
+    public static int selectablePieces(int diceNumber, int[] currentPositions) {
+        return selectablePieces(diceNumber, aliveMask(currentPositions));
+    }
+
+    // Same rule, on a bitmask of living pieces
+    public static int selectablePieces(int diceNumber, int aliveMask) {
+        int pieceIdx = diceNumber - 1;
+        if ((aliveMask & (1 << pieceIdx)) != 0) return 1 << pieceIdx;
+
+        int mask = 0;
+        for (int i = pieceIdx - 1; i >= 0; i--) {
+            if ((aliveMask & (1 << i)) != 0) { mask |= 1 << i; break; }
+        }
+        for (int i = pieceIdx + 1; i < 6; i++) {
+            if ((aliveMask & (1 << i)) != 0) { mask |= 1 << i; break; }
         }
+        return mask;
+    }
+
+    // Bit i set = piece i + 1 is still on the board
+    public static int aliveMask(int[] currentPositions) {
+        int mask = 0;
+        for (int i = 0; i < 6; i++) {
+            if (currentPositions[i] != -1) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    public GameState() {}
+
+    public GameState(int targetPiece, int[] initialPositions) {
+        this(targetPiece, initialPositions, 0);
+    }
+
+    // Starts from a position in the middle of a game (e.g. to re-plan from it)
+    public GameState(int targetPiece, int[] positions, int turnIndex) {
+        this.targetPiece = targetPiece;
+        this.board = new Board(positions);
+        this.turnIndex = turnIndex;
+        this.hash = Zobrist.hash(positions, turnIndex);
+    }
+
+    // --- MAKE / UNMAKE ---
+    /**
+     * Plays 'move' (piece * 100 + square) in place and advances the turn.
+     * Returns a compact undo record (see Board.makeMove: the move, the piece's
+     * original square and the captured piece, if any). Pass it to unmakeMove
+     * to step back. Nothing is allocated, so searches and playouts can walk
+     * forward and backward through a game freely.
+     */
+    public int makeMove(int move) {
+        int undo = board.makeMove(move);
+        int dest = move % 100;
+        int captured = Board.undoCaptured(undo);
+        if (captured != 0) hash = Zobrist.capture(hash, captured - 1, dest);
+        hash = Zobrist.move(hash, (move / 100) - 1, Board.undoFrom(undo), dest);
+        hash = Zobrist.nextTurn(hash, turnIndex);
+        turnIndex++;
+        return undo;
+    }
+
+    // Undo records must be passed back in reverse order of makeMove
+    public void unmakeMove(int undo) {
+        turnIndex--;
+        hash = Zobrist.nextTurn(hash, turnIndex); // XOR is its own inverse
+        int move = Board.undoMove(undo);
+        int dest = move % 100;
+        hash = Zobrist.move(hash, (move / 100) - 1, Board.undoFrom(undo), dest);
+        int captured = Board.undoCaptured(undo);
+        if (captured != 0) hash = Zobrist.capture(hash, captured - 1, dest);
+        board.unmakeMove(undo);
+    }
+
+    // Moves for the current position, written into 'out'
+    public int generateMoves(int diceNumber, int[] out) {
+        return board.generateMoves(diceNumber, out);
+    }
+
+    public Board getBoard() { return board; }
+    public int getTurnIndex() { return turnIndex; }
+    public long getHash() { return hash; }
+
+    public int positionOf(int pieceIdx) {
+        return board.positionOf(pieceIdx);
+    }
+
+    // Copy of the live positions, e.g. to pass to Player.chooseMove
+    public int[] getPositions() {
+        return board.getPositions();
+    }
+
+    public boolean isTargetCaptured() {
+        return board.positionOf(targetPiece - 1) == -1;
+    }
+
+    public boolean isWon() {
+        return board.positionOf(targetPiece - 1) == GOAL_POS;
+    }
+
+    public List<Integer> generatePossibleMoves(int diceNumber, int[] currentPositions) {
+        int[] buf = new int[MAX_MOVES_PER_TURN];
+        int count = generateMoves(diceNumber, currentPositions, buf);
+        List<Integer> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) moves.add(buf[i]);
         return moves;
     }
 
     public boolean isWinning(int[] currentPositions) {
     return currentPositions[targetPiece - 1] == 0;
 }
-}
\ No newline at end of file
+}
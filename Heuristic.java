@@ -0,0 +1,32 @@
+/**
+ * The heuristic every exact engine (A*, IDA*, ParallelSolver) uses: the
+ * fewest turns the target still needs to reach square 0 with this dice
+ * sequence, or LOST if it can't get there in time.
+ *
+ * It is admissible (never overestimates), so A* and IDA* still find the
+ * shortest win, and never below the plain king-move distance because the
+ * target only moves when the dice picks it.
+ */
+public class Heuristic {
+    public static final int LOST = 9999; // Value for a dead state
+
+    private final DistanceTablebase tablebase;
+    private final ReachabilityAnalysis reachability;
+
+    // 'reachability' must start at (or before) the solve's start turn
+    public Heuristic(DistanceTablebase tablebase, ReachabilityAnalysis reachability) {
+        this.tablebase = tablebase;
+        this.reachability = reachability;
+    }
+
+    /** @return turns left to square 0 for a target on 'targetPos' (-1 = captured), or LOST */
+    public int estimate(int turnIndex, int aliveMask, int targetPos) {
+        if (targetPos == -1) return LOST; // Lost state
+        if (targetPos == GameState.GOAL_POS) return 0; // Won state
+        // Fewer target turns left than king moves needed: cut before the table lookup
+        if (!reachability.canReachGoal(turnIndex, targetPos)) return LOST;
+
+        int dist = tablebase.distance(turnIndex, aliveMask, targetPos);
+        return dist == DistanceTablebase.UNREACHABLE ? LOST : dist;
+    }
+}
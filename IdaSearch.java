@@ -0,0 +1,117 @@
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One IDA* iteration: depth-first from a GameState with an f = g + h
+ * cut-off. AIPlayer's IDA* engine and every ParallelSolver task run this
+ * same search, and only differ in the two hooks: nodeExpanded (progress
+ * reporting) and aborted (cancellation, or another task already won).
+ *
+ * Works on one mutable GameState (make/unmake), so memory only depends
+ * on the depth (max 30) plus the transposition table, which remembers
+ * "this state (+turn) failed, next f is X" keyed by the Zobrist hash.
+ */
+public class IdaSearch {
+    public static final int FOUND = -1;
+    public static final int ABORTED = -2;
+
+    private final int targetPiece;
+    private final List<Integer> diceSequence;
+    private final int maxTurns;
+    private final Heuristic heuristic;
+    private final TranspositionTable table;
+    private final SolverStats stats;
+
+    // One move buffer per depth, so recursion never allocates
+    private final int[][] moveBuffers;
+    private final int[] path; // path[i] = move played on turn i
+    private int pathEnd;      // Turn the goal was reached on
+
+    public IdaSearch(int targetPiece, List<Integer> diceSequence, int maxTurns, Heuristic heuristic,
+                     TranspositionTable table, SolverStats stats) {
+        this.targetPiece = targetPiece;
+        this.diceSequence = diceSequence;
+        this.maxTurns = maxTurns;
+        this.heuristic = heuristic;
+        this.table = table;
+        this.stats = stats;
+        this.moveBuffers = new int[maxTurns][GameState.MAX_MOVES_PER_TURN];
+        this.path = new int[maxTurns];
+    }
+
+    // Called once per expanded node, before its moves are generated
+    protected void nodeExpanded() {}
+
+    // Checked on every node; true makes the search unwind with ABORTED
+    protected boolean aborted() {
+        return false;
+    }
+
+    /**
+     * Searches from 'state' under 'bound'. Returns FOUND (see path), ABORTED,
+     * or the smallest f that exceeded the bound (Heuristic.LOST if none did).
+     * The state's Zobrist hash is kept up to date by makeMove/unmakeMove.
+     */
+    public int search(GameState state, int bound) {
+        int turnIndex = state.getTurnIndex();
+        int targetPos = state.positionOf(targetPiece - 1);
+        if (targetPos == GameState.GOAL_POS) {
+            pathEnd = turnIndex;
+            return FOUND;
+        }
+        if (aborted()) return ABORTED;
+
+        stats.heuristicEvaluations++;
+        int h = heuristic.estimate(turnIndex, state.getBoard().aliveMask(), targetPos);
+        int f = turnIndex + h;
+        if (f > bound) {
+            stats.prune(h == Heuristic.LOST ? SolverStats.PruneReason.UNREACHABLE : SolverStats.PruneReason.OVER_BOUND);
+            return f;
+        }
+        if (turnIndex >= maxTurns) return Heuristic.LOST;
+
+        // Same state at the same turn already failed under this bound
+        long hash = state.getHash();
+        int known = table.probe(hash);
+        if (known != TranspositionTable.MISS) {
+            stats.duplicateHits++;
+            if (known > bound) {
+                stats.prune(SolverStats.PruneReason.TABLE_HIT);
+                return known;
+            }
+        }
+        nodeExpanded();
+
+        int minNext = Heuristic.LOST;
+        int[] moves = moveBuffers[turnIndex];
+        int moveCount = state.generateMoves(diceSequence.get(turnIndex), moves);
+        stats.nodesGenerated += moveCount;
+        for (int m = 0; m < moveCount; m++) {
+            int undo = state.makeMove(moves[m]);
+            int t;
+            if (state.isTargetCaptured()) {
+                stats.prune(SolverStats.PruneReason.TARGET_CAPTURED);
+                t = Heuristic.LOST;
+            } else {
+                t = search(state, bound);
+            }
+            state.unmakeMove(undo);
+
+            if (t == FOUND) {
+                path[turnIndex] = moves[m];
+                return FOUND;
+            }
+            // Never record a cut-off search as a failure
+            if (t == ABORTED) return ABORTED;
+            if (t < minNext) minNext = t;
+        }
+
+        table.store(hash, minNext, maxTurns - turnIndex);
+        return minNext;
+    }
+
+    // After FOUND: the moves from turn 'fromTurn' up to the goal, into 'out'
+    public void appendPath(int fromTurn, Collection<Integer> out) {
+        for (int i = fromTurn; i < pathEnd; i++) out.add(path[i]);
+    }
+}
@@ -0,0 +1,262 @@
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Generates random levels and keeps only the ones the solver proves
+ * winnable within 30 moves, graded by optimal length and by how often a
+ * RandomPlayer wins them.
+ *
+ * Pipeline:
+ *  1. one generator thread makes candidates: a target piece, six distinct
+ *     squares (never 0 or the obstacle on 22) and 30 dice rolls
+ *  2. verifier threads take candidates off a bounded queue and
+ *     - drop them if ReachabilityAnalysis says the target can't get
+ *       enough turns (cheap, no search)
+ *     - solve them with A* under a node budget: no win or budget used
+ *       up means rejected, otherwise the win is optimal
+ *     - play SIM_GAMES random games for the random-player win rate
+ *  3. the main thread writes accepted levels in the GameLoader format to
+ *     out/lenNN_<win-rate band>/level_NNNNN.txt and lists them in
+ *     out/index.csv
+ *
+ * Usage: java LevelGenerator [-count n] [-threads n] [-seed s] [-out dir]
+ *                            [-min len] [-max len] [-sim games] [-nodes n]
+ * Defaults: 1000 levels, every core, random seed, generated_levels/,
+ * any length from 1 to 30, 2000 random games, 500,000 nodes.
+ */
+public class LevelGenerator {
+    // Random-player win rate bands, as upper bounds (the last one takes the rest)
+    private static final double[] BAND_LIMITS = {0.001, 0.01, 0.1};
+    private static final String[] BAND_NAMES = {"win0-0.1pct", "win0.1-1pct", "win1-10pct", "win10-100pct"};
+
+    // Why a candidate was dropped
+    private enum Reject { UNREACHABLE, UNSOLVABLE, OVER_BUDGET, LENGTH }
+
+    // --- A level in the making ---
+    private static class Candidate {
+        int targetPiece;
+        final int[] positions = new int[6];
+        final List<Integer> dice = new ArrayList<>();
+        SplittableRandom random; // For its random-player games
+    }
+
+    private static class GradedLevel {
+        Candidate level;
+        List<Integer> solution;
+        long expandedNodes;
+        double randomWinRate;
+    }
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int simGames = 2000;
+    private long maxNodes = 500_000;
+    private int minLength = 1;
+    private int maxLength = GameState.MAX_MOVES;
+
+    private final AtomicLongArray rejects = new AtomicLongArray(Reject.values().length);
+
+    // --- STAGE 1: CANDIDATES ---
+    private static Candidate randomCandidate(SplittableRandom random) {
+        Candidate c = new Candidate();
+        c.targetPiece = 1 + random.nextInt(6);
+        boolean[] taken = new boolean[100];
+        taken[GameState.GOAL_POS] = true;
+        taken[GameState.OBSTACLE_POS] = true;
+        for (int i = 0; i < 6; i++) {
+            int sq;
+            do {
+                sq = random.nextInt(100);
+            } while (taken[sq]);
+            taken[sq] = true;
+            c.positions[i] = sq;
+        }
+        for (int t = 0; t < GameState.MAX_MOVES; t++) c.dice.add(1 + random.nextInt(6));
+        c.random = random.split();
+        return c;
+    }
+
+    // --- STAGE 2: VERIFY AND GRADE ---
+    // Returns null (and counts why) if the level is rejected
+    private GradedLevel verify(Candidate c) {
+        ReachabilityAnalysis reachability = new ReachabilityAnalysis(c.targetPiece, c.dice, 0,
+                GameState.aliveMask(c.positions));
+        if (!reachability.canReachGoal(0, c.positions[c.targetPiece - 1])) return reject(Reject.UNREACHABLE);
+
+        AIPlayer ai = new AIPlayer(c.targetPiece);
+        ai.setSolutionCache(null);
+        ai.setLogging(false);
+        ai.setDiceSequence(c.dice);
+        SolveResult result = ai.solve(c.positions, 0, SolveBudget.nodes(maxNodes));
+        if (!result.isOptimal()) return reject(Reject.OVER_BUDGET);
+        if (!result.reachesGoal()) return reject(Reject.UNSOLVABLE);
+        int length = result.getMoves().size();
+        if (length < minLength || length > maxLength) return reject(Reject.LENGTH);
+
+        int[] dice = new int[GameState.MAX_MOVES];
+        for (int t = 0; t < GameState.MAX_MOVES; t++) dice[t] = c.dice.get(t);
+        BatchSimulator.Result sim = BatchSimulator.playChunk(c.targetPiece, c.positions, dice, simGames, c.random);
+
+        GradedLevel graded = new GradedLevel();
+        graded.level = c;
+        graded.solution = result.getMoves();
+        graded.expandedNodes = result.getExpandedNodes();
+        graded.randomWinRate = sim.winRate();
+        return graded;
+    }
+
+    private GradedLevel reject(Reject reason) {
+        rejects.incrementAndGet(reason.ordinal());
+        return null;
+    }
+
+    private static String bucket(GradedLevel g) {
+        int band = 0;
+        while (band < BAND_LIMITS.length && g.randomWinRate >= BAND_LIMITS[band]) band++;
+        return String.format("len%02d_%s", g.solution.size(), BAND_NAMES[band]);
+    }
+
+    // --- PIPELINE ---
+    /**
+     * Runs the pipeline until 'count' levels are accepted; 'sink' gets each
+     * one on the calling thread, in the order they were verified.
+     */
+    private void generate(int count, long seed, java.util.function.Consumer<GradedLevel> sink)
+            throws InterruptedException {
+        BlockingQueue<Candidate> candidates = new ArrayBlockingQueue<>(threads * 16);
+        BlockingQueue<GradedLevel> accepted = new LinkedBlockingQueue<>();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        Thread generator = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            try {
+                while (!stop.get()) {
+                    Candidate c = randomCandidate(random);
+                    while (!stop.get() && !candidates.offer(c, 50, TimeUnit.MILLISECONDS)) {
+                        // Queue full: verifiers are behind, wait
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Shutting down
+            }
+        }, "level-generator");
+        generator.setDaemon(true);
+        generator.start();
+
+        ExecutorService verifiers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            verifiers.submit(() -> {
+                try {
+                    while (!stop.get()) {
+                        Candidate c = candidates.poll(50, TimeUnit.MILLISECONDS);
+                        if (c == null) continue;
+                        GradedLevel graded = verify(c);
+                        if (graded != null) accepted.put(graded);
+                    }
+                } catch (InterruptedException e) {
+                    // Shutting down
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (int n = 0; n < count; n++) sink.accept(accepted.take());
+        } finally {
+            stop.set(true);
+            verifiers.shutdownNow();
+            generator.interrupt();
+            verifiers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void writeLevel(File file, Candidate c) throws Exception {
+        try (PrintWriter out = new PrintWriter(file)) {
+            out.println(c.targetPiece);
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < 6; i++) line.append(i == 0 ? "" : " ").append(c.positions[i]);
+            out.println(line);
+            line.setLength(0);
+            for (int i = 0; i < c.dice.size(); i++) line.append(i == 0 ? "" : " ").append(c.dice.get(i));
+            out.println(line);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LevelGenerator gen = new LevelGenerator();
+        int count = 1000;
+        long seed = System.nanoTime();
+        File outDir = new File("generated_levels");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-count": count = Integer.parseInt(args[++i]); break;
+                case "-threads": gen.threads = Integer.parseInt(args[++i]); break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-out": outDir = new File(args[++i]); break;
+                case "-min": gen.minLength = Integer.parseInt(args[++i]); break;
+                case "-max": gen.maxLength = Integer.parseInt(args[++i]); break;
+                case "-sim": gen.simGames = Integer.parseInt(args[++i]); break;
+                case "-nodes": gen.maxNodes = Long.parseLong(args[++i]); break;
+                default: System.out.println("Unknown option: " + args[i]); return;
+            }
+        }
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            System.out.println("Cannot create " + outDir.getAbsolutePath());
+            return;
+        }
+
+        System.out.println("Generating " + count + " levels with " + gen.threads + " verifier threads, seed " + seed);
+
+        Map<String, Integer> buckets = new TreeMap<>();
+        long start = System.currentTimeMillis();
+        final File dir = outDir;
+        final int total = count;
+        int[] written = {0};
+        try (PrintWriter index = new PrintWriter(new File(dir, "index.csv"))) {
+            index.println("file,target,optimal_length,nodes,random_win_rate,solution");
+            gen.generate(count, seed, g -> {
+                String name = bucket(g);
+                File bucketDir = new File(dir, name);
+                bucketDir.mkdirs();
+                String file = String.format("level_%05d.txt", ++written[0]);
+                try {
+                    writeLevel(new File(bucketDir, file), g.level);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                StringBuilder moves = new StringBuilder();
+                for (int move : g.solution) moves.append(moves.length() == 0 ? "" : " ").append(move);
+                index.printf(java.util.Locale.ROOT, "%s/%s,%d,%d,%d,%.5f,%s%n", name, file, g.level.targetPiece,
+                        g.solution.size(), g.expandedNodes, g.randomWinRate, moves);
+                buckets.merge(name, 1, Integer::sum);
+                if (written[0] % 100 == 0) System.out.println("  " + written[0] + " / " + total);
+            });
+        }
+
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+        long rejected = 0;
+        for (int i = 0; i < gen.rejects.length(); i++) rejected += gen.rejects.get(i);
+        System.out.printf("%nAccepted %d of %d candidates in %d ms (%.0f levels/min)%n",
+                count, count + rejected, millis, count * 60000.0 / millis);
+        for (Reject reason : Reject.values()) {
+            System.out.println("  rejected " + reason + ": " + gen.rejects.get(reason.ordinal()));
+        }
+        System.out.println("\nBucket                    Levels");
+        for (Map.Entry<String, Integer> e : buckets.entrySet()) {
+            System.out.printf("%-24s %7d%n", e.getKey(), e.getValue());
+        }
+        System.out.println("\nWritten to " + dir.getAbsolutePath());
+    }
+}
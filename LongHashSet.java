@@ -0,0 +1,87 @@
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing hash set for primitive longs (linear probing).
+ * Used by the solver's closed set so we don't box every state into a Long
+ * or build a String key per node.
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0L;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean hasZero; // 0 is the empty marker, so track it separately
+
+    public LongHashSet() {
+        this(1 << 12);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int cap = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        table = new long[cap];
+        mask = cap - 1;
+    }
+
+    /** @return true if the key was not already present. */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int idx = mix(key) & mask;
+        while (table[idx] != EMPTY) {
+            if (table[idx] == key) return false;
+            idx = (idx + 1) & mask;
+        }
+        table[idx] = key;
+        size++;
+        if (size * 2 > table.length) grow();
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) return hasZero;
+        int idx = mix(key) & mask;
+        while (table[idx] != EMPTY) {
+            if (table[idx] == key) return true;
+            idx = (idx + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Keeps the backing array so the next solve can reuse it
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        hasZero = false;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        mask = table.length - 1;
+        for (long key : old) {
+            if (key == EMPTY) continue;
+            int idx = mix(key) & mask;
+            while (table[idx] != EMPTY) idx = (idx + 1) & mask;
+            table[idx] = key;
+        }
+    }
+
+    // Murmur3 finalizer, spreads the packed bits across the whole word
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for search nodes. Instead of one object per node,
+ * each field lives in its own flat array and a node is just an index.
+ * The parent link is an index too (-1 for the root), so the whole search
+ * tree is a handful of arrays that can be cleared and reused between solves.
+ */
+public class NodeStore {
+    long[] state;  // Packed positions + turn (see StateCodec)
+    int[] parent;  // Index of the parent node, -1 for the start node
+    int[] move;    // Move that led here (piece * 100 + square)
+    int[] g;       // Cost from start
+    int[] f;       // g + h
+    private int size;
+
+    public NodeStore() {
+        this(1 << 12);
+    }
+
+    public NodeStore(int initialCapacity) {
+        state = new long[initialCapacity];
+        parent = new int[initialCapacity];
+        move = new int[initialCapacity];
+        g = new int[initialCapacity];
+        f = new int[initialCapacity];
+    }
+
+    /** @return the index of the new node */
+    public int add(long nodeState, int parentIdx, int moveUsed, int cost, int estimate) {
+        if (size == state.length) grow();
+        state[size] = nodeState;
+        parent[size] = parentIdx;
+        move[size] = moveUsed;
+        g[size] = cost;
+        f[size] = estimate;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Arrays are kept, only the fill pointer is reset
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        int cap = state.length * 2;
+        state = Arrays.copyOf(state, cap);
+        parent = Arrays.copyOf(parent, cap);
+        move = Arrays.copyOf(move, cap);
+        g = Arrays.copyOf(g, cap);
+        f = Arrays.copyOf(f, cap);
+    }
+}
@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel version of AIPlayer's IDA* search. The moves of the first
+ * SPLIT_DEPTH turns are expanded up front, and every resulting subtree is
+ * searched depth-first by its own ForkJoinPool task, one f-bound at a time.
+ *
+ * Tasks share a lock-free TranspositionTable ("this state failed under
+ * this bound, next f is X") and a global best solution: the index of the
+ * leftmost subtree that has found a path. Tasks to the right of it stop
+ * straight away, tasks to the left keep going because they could still
+ * hold an earlier path. That way the answer is exactly the path the
+ * sequential IDA* engine returns, just found with more threads. Each task
+ * runs the same IdaSearch as the sequential engine.
+ *
+ * The speedup over Engine.IDA_STAR has not been measured yet: it needs a
+ * machine with several cores, and the only one used so far had one.
+ */
+public class ParallelSolver {
+    private static final int SPLIT_DEPTH = 2;
+    private static final int PROGRESS_MASK = (1 << 12) - 1;
+
+    private final int targetPiece;
+    private final List<Integer> diceSequence;
+    private final int maxTurns;
+    private final DistanceTablebase tablebase;
+    private Heuristic heuristic; // Set per solve, its reachability starts at the start turn
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+
+    private final LongAdder expandedNodes = new LongAdder();
+    private final SolverStats stats = new SolverStats(); // Sum over every task, see getStats
+    private volatile boolean cancelled = false;
+    private AIPlayer.ProgressListener progressListener;
+    private long startTime;
+
+    public ParallelSolver(int targetPiece, List<Integer> diceSequence, int parallelism, long tableMemoryBytes) {
+        this(targetPiece, diceSequence, parallelism, new TranspositionTable(tableMemoryBytes));
+    }
+
+    // Shares 'table' with earlier solves of the same level, e.g. AIPlayer.plan when chooseMove re-plans
+    public ParallelSolver(int targetPiece, List<Integer> diceSequence, int parallelism, TranspositionTable table) {
+        this.targetPiece = targetPiece;
+        this.diceSequence = diceSequence;
+        this.maxTurns = Math.min(GameState.MAX_MOVES, diceSequence.size());
+        this.tablebase = DistanceTablebase.forLevel(targetPiece, diceSequence);
+        this.pool = new ForkJoinPool(parallelism);
+        this.table = table;
+    }
+
+    // Called from the worker threads every few thousand nodes
+    public void setProgressListener(AIPlayer.ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    // Makes every task unwind; solve() then returns an empty list
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Counters summed over all tasks and bounds of the last solve
+    public SolverStats getStats() {
+        return stats;
+    }
+
+    /** @return the shortest winning move list, or an empty list if there is none */
+    public List<Integer> solve(int[] startPositions) {
+        return solve(startPositions, 0);
+    }
+
+    // Same, but from 'startPositions' at turn 'startTurn' of the dice sequence
+    public List<Integer> solve(int[] startPositions, int startTurn) {
+        startTime = System.currentTimeMillis();
+        try {
+            return search(startPositions, startTurn);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Integer> search(int[] startPositions, int startTurn) {
+        GameState root = new GameState(targetPiece, startPositions, startTurn);
+        ReachabilityAnalysis reachability = new ReachabilityAnalysis(targetPiece, diceSequence, startTurn,
+                GameState.aliveMask(startPositions));
+        heuristic = new Heuristic(tablebase, reachability);
+        int h = heuristic.estimate(startTurn, GameState.aliveMask(startPositions), startPositions[targetPiece - 1]);
+        if (h == Heuristic.LOST) return new ArrayList<>();
+        int bound = startTurn + h;
+
+        // Subtrees in the same left-to-right order the sequential DFS visits them
+        List<int[]> prefixes = new ArrayList<>();
+        if (!splitRoot(root, new int[0], prefixes)) {
+            // The goal is within SPLIT_DEPTH moves: not worth splitting
+            prefixes.clear();
+            prefixes.add(new int[0]);
+        }
+
+        while (bound <= maxTurns && !cancelled) {
+            AtomicInteger bestSubtree = new AtomicInteger(Integer.MAX_VALUE);
+            SubtreeTask[] tasks = new SubtreeTask[prefixes.size()];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new SubtreeTask(startPositions, startTurn, prefixes.get(i), i, bound, bestSubtree);
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+
+            if (cancelled) break;
+            int winner = bestSubtree.get();
+            if (winner != Integer.MAX_VALUE) return tasks[winner].solution();
+
+            int next = Heuristic.LOST;
+            for (SubtreeTask task : tasks) next = Math.min(next, task.result);
+            bound = next; // Smallest f that exceeded the old bound
+        }
+        return new ArrayList<>();
+    }
+
+    // Collects move prefixes of length SPLIT_DEPTH. Returns false if the goal
+    // shows up before that depth.
+    private boolean splitRoot(GameState state, int[] prefix, List<int[]> out) {
+        if (state.isWon()) return false;
+        if (state.isTargetCaptured()) return true; // Dead branch, nothing to search
+        if (prefix.length == SPLIT_DEPTH || state.getTurnIndex() >= maxTurns) {
+            out.add(prefix);
+            return true;
+        }
+        int[] moves = new int[GameState.MAX_MOVES_PER_TURN];
+        int count = state.generateMoves(diceSequence.get(state.getTurnIndex()), moves);
+        for (int m = 0; m < count; m++) {
+            int[] longer = java.util.Arrays.copyOf(prefix, prefix.length + 1);
+            longer[prefix.length] = moves[m];
+            int undo = state.makeMove(moves[m]);
+            boolean ok = splitRoot(state, longer, out);
+            state.unmakeMove(undo);
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    // --- ONE SUBTREE, ONE BOUND ---
+    private class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] startPositions;
+        private final int startTurn;
+        private final int[] prefix;
+        private final int index;
+        private final int bound;
+        private final AtomicInteger bestSubtree;
+        private final SolverStats localStats = new SolverStats(); // Added to 'stats' when done
+        private IdaSearch search;
+        private long localNodes; // Flushed into expandedNodes in batches
+        int result = Heuristic.LOST; // Min f over the bound, when no path was found
+
+        SubtreeTask(int[] startPositions, int startTurn, int[] prefix, int index, int bound, AtomicInteger bestSubtree) {
+            this.startPositions = startPositions;
+            this.startTurn = startTurn;
+            this.prefix = prefix;
+            this.index = index;
+            this.bound = bound;
+            this.bestSubtree = bestSubtree;
+        }
+
+        @Override
+        protected void compute() {
+            GameState state = new GameState(targetPiece, startPositions, startTurn);
+            for (int move : prefix) state.makeMove(move);
+            search = new IdaSearch(targetPiece, diceSequence, maxTurns, heuristic, table, localStats) {
+                @Override
+                protected void nodeExpanded() {
+                    countNode();
+                }
+
+                // A subtree to our left already has the answer, or the solve was cancelled
+                @Override
+                protected boolean aborted() {
+                    return bestSubtree.get() < index || cancelled;
+                }
+            };
+
+            int t = search.search(state, bound);
+            synchronized (stats) {
+                stats.add(localStats);
+            }
+            if (t == IdaSearch.FOUND) {
+                // Keep the leftmost winner
+                bestSubtree.accumulateAndGet(index, Math::min);
+            } else if (t != IdaSearch.ABORTED) {
+                result = t;
+            }
+        }
+
+        List<Integer> solution() {
+            List<Integer> moves = new ArrayList<>();
+            for (int move : prefix) moves.add(move);
+            search.appendPath(startTurn + prefix.length, moves);
+            return moves;
+        }
+
+        private void countNode() {
+            localStats.nodesExpanded++;
+            if ((++localNodes & PROGRESS_MASK) != 0) return;
+            expandedNodes.add(PROGRESS_MASK + 1);
+            AIPlayer.ProgressListener listener = progressListener;
+            if (listener != null) {
+                listener.onProgress(expandedNodes.sum(), System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+}
@@ -4,6 +4,11 @@ import java.util.List;
 public abstract class Player {
     public abstract int chooseMove(List<Integer> possibleMoves, int[] currentPositions);
 
+    // Same, for players that care which turn of the dice sequence it is
+    public int chooseMove(List<Integer> possibleMoves, int[] currentPositions, int turnIndex) {
+        return chooseMove(possibleMoves, currentPositions);
+    }
+
     public void printMove(int[] positions, PrintWriter writer) {
         for (int i = 0; i < positions.length; i++) {
             writer.print(positions[i]);
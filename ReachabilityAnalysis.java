@@ -0,0 +1,121 @@
+import java.util.List;
+
+/**
+ * Forward pass over a level's dice sequence: which sets of living pieces
+ * can exist on each turn, on which turns the dice could select the target
+ * at all, and how many of those turns are still to come.
+ *
+ * The target needs at least kingDistance(square) moves to reach square 0
+ * and can only move on a turn that selects it, so a position with fewer
+ * target turns left than that can be cut right away (canReachGoal).
+ *
+ * Captures are over-approximated: any living non-target piece may be
+ * captured on any turn, as long as a different piece is the one moving.
+ * That keeps every real game inside the analysis, so pruning with it is
+ * safe.
+ *
+ * It also finds "inert" pieces (inertPieces): non-target pieces that can
+ * no longer move or change which piece the dice selects, so where they
+ * stand, or whether they are alive at all, makes no difference to the
+ * rest of the game.
+ */
+public class ReachabilityAnalysis {
+    private final int maxTurns;
+    private final long[] reachableMasks;  // [turn] bit m set = alive mask m can occur (64 masks fit a long)
+    private final boolean[] targetMovable; // [turn] some reachable mask lets the dice select the target
+    private final int[] targetMovesLeft;   // [turn] target-movable turns from here to the end
+    private final int[] inertPieces;       // [turn] bitmask of pieces that don't matter from here on
+
+    /** Analysis from 'startAliveMask' at 'startTurn' (e.g. GameState.aliveMask of the level start) */
+    public ReachabilityAnalysis(int targetPiece, List<Integer> diceSequence, int startTurn, int startAliveMask) {
+        this.maxTurns = Math.min(GameState.MAX_MOVES, diceSequence.size());
+        this.reachableMasks = new long[maxTurns + 1];
+        this.targetMovable = new boolean[maxTurns + 1];
+        this.targetMovesLeft = new int[maxTurns + 2];
+        this.inertPieces = new int[maxTurns + 1];
+
+        int targetBit = 1 << (targetPiece - 1);
+        if (startTurn > maxTurns || (startAliveMask & targetBit) == 0) return; // Nothing reachable
+
+        // --- FORWARD: masks and target-movable turns ---
+        reachableMasks[startTurn] = 1L << startAliveMask;
+        for (int turn = startTurn; turn < maxTurns; turn++) {
+            int dice = diceSequence.get(turn);
+            long next = 0;
+            for (int mask = 0; mask < 64; mask++) {
+                if ((reachableMasks[turn] & (1L << mask)) == 0) continue;
+                int movers = GameState.selectablePieces(dice, mask);
+                if ((movers & targetBit) != 0) targetMovable[turn] = true;
+
+                next |= 1L << mask; // Nothing captured
+                for (int victim = 0; victim < 6; victim++) {
+                    int victimBit = 1 << victim;
+                    if (victimBit == targetBit || (mask & victimBit) == 0) continue;
+                    // Someone other than the victim has to make the capture
+                    if ((movers & ~victimBit) != 0) next |= 1L << (mask & ~victimBit);
+                }
+            }
+            reachableMasks[turn + 1] = next;
+        }
+
+        // --- BACKWARD: target moves left, inert pieces ---
+        inertPieces[maxTurns] = 0x3F & ~targetBit;
+        for (int turn = maxTurns - 1; turn >= startTurn; turn--) {
+            targetMovesLeft[turn] = targetMovesLeft[turn + 1] + (targetMovable[turn] ? 1 : 0);
+            inertPieces[turn] = inertPieces[turn + 1] & inertFor(targetPiece, diceSequence.get(turn));
+        }
+    }
+
+    // Pieces this one dice roll can't touch: never selected, and never the
+    // nearest substitute, because the living target stands between them and
+    // the dice number (or is the dice number)
+    private static int inertFor(int targetPiece, int dice) {
+        int mask = 0;
+        for (int piece = 1; piece <= 6; piece++) {
+            if (piece == targetPiece || piece == dice) continue;
+            boolean shielded = dice == targetPiece
+                    || (dice < targetPiece && targetPiece < piece)
+                    || (piece < targetPiece && targetPiece < dice);
+            if (shielded) mask |= 1 << (piece - 1);
+        }
+        return mask;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public boolean isReachableMask(int turnIndex, int aliveMask) {
+        if (turnIndex < 0 || turnIndex > maxTurns) return false;
+        return (reachableMasks[turnIndex] & (1L << aliveMask)) != 0;
+    }
+
+    // Could the dice on this turn select the target in any reachable game?
+    public boolean isTargetMovable(int turnIndex) {
+        return turnIndex >= 0 && turnIndex < maxTurns && targetMovable[turnIndex];
+    }
+
+    // Upper bound on how often the target can still move, from 'turnIndex' on
+    public int targetMovesLeft(int turnIndex) {
+        if (turnIndex < 0 || turnIndex > maxTurns) return 0;
+        return targetMovesLeft[turnIndex];
+    }
+
+    // Bit i set = piece i + 1 can be ignored for the rest of the game (from 'turnIndex' on)
+    public int inertPieces(int turnIndex) {
+        if (turnIndex < 0 || turnIndex > maxTurns) return 0;
+        return inertPieces[turnIndex];
+    }
+
+    // False means the target can't reach square 0 from 'targetPos' in time, whatever is played
+    public boolean canReachGoal(int turnIndex, int targetPos) {
+        if (targetPos == GameState.GOAL_POS) return true;
+        if (targetPos < 0) return false;
+        return targetMovesLeft(turnIndex) >= kingDistance(targetPos);
+    }
+
+    // Fewest king moves from 'square' to square 0 (ignores the obstacle)
+    public static int kingDistance(int square) {
+        return Math.max(square / 10, square % 10);
+    }
+}
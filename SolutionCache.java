@@ -0,0 +1,145 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk cache of solved levels, so the AI doesn't re-solve a level that
+ * hasn't changed. Each entry is keyed by a hash of everything the answer
+ * depends on: solver version, target piece, positions, turn and dice.
+ *
+ * File format, one entry per line:
+ *     key|move move move ...|crc32
+ * Lines that fail to parse or whose CRC doesn't match are skipped, so a
+ * damaged file just means some cache misses. Only the most recently used
+ * MAX_ENTRIES are kept, and the file is rewritten through a temp file so a
+ * crash mid-write can't leave a half-written cache behind.
+ */
+public class SolutionCache {
+    public static final String DEFAULT_FILE = "solutions_cache.txt";
+    private static final int MAX_ENTRIES = 512;
+
+    private static SolutionCache defaultInstance;
+
+    private final Path file;
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, List<Integer>> entries =
+            new LinkedHashMap<String, List<Integer>>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<Integer>> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    public SolutionCache(String filename) {
+        this.file = Paths.get(filename);
+        load();
+    }
+
+    public static synchronized SolutionCache getDefault() {
+        if (defaultInstance == null) {
+            defaultInstance = new SolutionCache(DEFAULT_FILE);
+        }
+        return defaultInstance;
+    }
+
+    /** Hash of everything a solution depends on. */
+    public static String key(int solverVersion, int targetPiece, int[] positions,
+                             int turnIndex, List<Integer> diceSequence) {
+        StringBuilder sb = new StringBuilder();
+        sb.append('v').append(solverVersion).append(";t").append(targetPiece).append(";p");
+        for (int pos : positions) sb.append(pos).append(',');
+        sb.append(";n").append(turnIndex).append(";d");
+        for (int dice : diceSequence) sb.append(dice);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) hex.append(String.format("%02x", digest[i]));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 ships with every JRE
+        }
+    }
+
+    /** @return the cached moves (empty = known to be unsolvable), or null on a miss */
+    public synchronized List<Integer> get(String key) {
+        List<Integer> moves = entries.get(key);
+        return moves == null ? null : new ArrayList<>(moves);
+    }
+
+    public synchronized void put(String key, List<Integer> moves) {
+        entries.put(key, new ArrayList<>(moves));
+        save();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // --- FILE I/O ---
+    private void load() {
+        if (!Files.exists(file)) return;
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                parseLine(line);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // Unreadable cache: keep whatever parsed so far and carry on
+            System.out.println("[Cache] Could not read " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void parseLine(String line) {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length != 3) return;
+        String body = parts[0] + "|" + parts[1];
+        if (!parts[2].equals(checksum(body))) return; // Corrupted line
+        try {
+            List<Integer> moves = new ArrayList<>();
+            for (String token : parts[1].trim().split(" ")) {
+                if (!token.isEmpty()) moves.add(Integer.parseInt(token));
+            }
+            entries.put(parts[0], moves);
+        } catch (NumberFormatException e) {
+            // Skip invalid lines
+        }
+    }
+
+    private void save() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(tmp, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, List<Integer>> e : entries.entrySet()) {
+                StringBuilder moves = new StringBuilder();
+                for (int move : e.getValue()) {
+                    if (moves.length() > 0) moves.append(' ');
+                    moves.append(move);
+                }
+                String body = e.getKey() + "|" + moves;
+                out.println(body + "|" + checksum(body));
+            }
+        } catch (IOException e) {
+            System.out.println("[Cache] Could not write " + tmp + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e2) {
+                System.out.println("[Cache] Could not replace " + file + ": " + e2.getMessage());
+            }
+        }
+    }
+
+    private static String checksum(String body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * How much work a single solve may do before it has to answer with the
+ * best plan found so far. Limits are per call, so the GUI can ask for a
+ * quick answer while batch tools let the solver run to the end.
+ */
+public final class SolveBudget {
+    private static final SolveBudget UNLIMITED = new SolveBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long maxMillis;
+    private final long maxNodes;
+
+    private SolveBudget(long maxMillis, long maxNodes) {
+        this.maxMillis = maxMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    public static SolveBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public static SolveBudget millis(long maxMillis) {
+        return new SolveBudget(maxMillis, Long.MAX_VALUE);
+    }
+
+    public static SolveBudget nodes(long maxNodes) {
+        return new SolveBudget(Long.MAX_VALUE, maxNodes);
+    }
+
+    // Whichever limit is hit first
+    public static SolveBudget of(long maxMillis, long maxNodes) {
+        return new SolveBudget(maxMillis, maxNodes);
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public boolean isUnlimited() {
+        return maxMillis == Long.MAX_VALUE && maxNodes == Long.MAX_VALUE;
+    }
+
+    // Deadline in System.nanoTime() terms, for a solve starting at 'startNanos'
+    long deadline(long startNanos) {
+        if (maxMillis == Long.MAX_VALUE) return Long.MAX_VALUE;
+        return startNanos + maxMillis * 1_000_000L;
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a budgeted solve came back with. If the budget ran out first,
+ * 'moves' is a partial plan towards the most promising position seen
+ * (lowest heuristic, deepest on ties) instead of a full win.
+ */
+public final class SolveResult {
+    private final List<Integer> moves;
+    private final boolean reachesGoal;
+    private final boolean optimal;
+    private final long expandedNodes;
+    private final long elapsedMillis;
+    private final SolverStats stats;
+
+    SolveResult(List<Integer> moves, boolean reachesGoal, boolean optimal, long expandedNodes, long elapsedMillis,
+                SolverStats stats) {
+        this.moves = Collections.unmodifiableList(moves);
+        this.reachesGoal = reachesGoal;
+        this.optimal = optimal;
+        this.expandedNodes = expandedNodes;
+        this.elapsedMillis = elapsedMillis;
+        this.stats = stats;
+    }
+
+    public List<Integer> getMoves() {
+        return moves;
+    }
+
+    // True if the moves get the target to square 0
+    public boolean reachesGoal() {
+        return reachesGoal;
+    }
+
+    /**
+     * True if the search finished inside the budget: the moves are a
+     * shortest win, or, when reachesGoal() is false, there is no win at all
+     * and the moves are only the best try.
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // Detailed counters (duplicates, prunes, heuristic calls, ...) of the same search
+    public SolverStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return (reachesGoal ? "win in " : "partial plan of ") + moves.size() + " moves"
+                + (optimal ? " (proven)" : " (budget ran out)")
+                + ", " + expandedNodes + " nodes, " + elapsedMillis + "ms";
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the SolverStats of every solve in this JVM. Registers itself
+ * on the platform MBean server the first time it's used, and can append
+ * one JSON line per solve to a log file: set it over JMX, with
+ * setJsonLogFile, or at start-up with -Dsolver.statsLog=<file>.
+ */
+public class SolverMonitor implements SolverStatsMXBean {
+    public static final String OBJECT_NAME = "EinsteinWuerfeltNicht:type=SolverStats";
+
+    private static SolverMonitor instance;
+
+    private long solveCount;
+    private long totalNodesExpanded;
+    private long totalNodesGenerated;
+    private long totalWallMillis;
+    private SolverStats last = new SolverStats();
+    private String jsonLogFile = System.getProperty("solver.statsLog", "");
+
+    private SolverMonitor() {}
+
+    public static synchronized SolverMonitor get() {
+        if (instance == null) {
+            instance = new SolverMonitor();
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (!server.isRegistered(name)) server.registerMBean(instance, name);
+            } catch (JMException e) {
+                System.out.println("[Stats] Could not register JMX bean: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    // Called once at the end of every solve
+    public synchronized void record(SolverStats stats) {
+        solveCount++;
+        totalNodesExpanded += stats.nodesExpanded;
+        totalNodesGenerated += stats.nodesGenerated;
+        totalWallMillis += stats.wallMillis;
+        last = stats;
+
+        if (jsonLogFile != null && !jsonLogFile.isEmpty()) {
+            try (PrintWriter out = new PrintWriter(new FileWriter(jsonLogFile, true))) {
+                out.println(stats.toJson());
+            } catch (IOException e) {
+                System.out.println("[Stats] Could not write " + jsonLogFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized SolverStats getLastStats() {
+        return last;
+    }
+
+    // --- SolverStatsMXBean ---
+    @Override public synchronized long getSolveCount() { return solveCount; }
+    @Override public synchronized long getTotalNodesExpanded() { return totalNodesExpanded; }
+    @Override public synchronized long getTotalNodesGenerated() { return totalNodesGenerated; }
+    @Override public synchronized long getTotalWallMillis() { return totalWallMillis; }
+
+    @Override public synchronized String getLastEngine() { return last.engine; }
+    @Override public synchronized boolean isLastReachesGoal() { return last.reachesGoal; }
+    @Override public synchronized int getLastPathLength() { return last.pathLength; }
+    @Override public synchronized long getLastNodesGenerated() { return last.nodesGenerated; }
+    @Override public synchronized long getLastNodesExpanded() { return last.nodesExpanded; }
+    @Override public synchronized long getLastDuplicateHits() { return last.duplicateHits; }
+    @Override public synchronized long getLastHeuristicEvaluations() { return last.heuristicEvaluations; }
+    @Override public synchronized long getLastClosedSize() { return last.closedSize; }
+    @Override public synchronized long getLastPeakOpenSize() { return last.peakOpenSize; }
+    @Override public synchronized long getLastWallMillis() { return last.wallMillis; }
+    @Override public synchronized long getLastAllocatedBytes() { return last.allocatedBytes; }
+    @Override public synchronized String getLastSolveJson() { return last.toJson(); }
+
+    @Override
+    public synchronized Map<String, Long> getLastPruneCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (SolverStats.PruneReason reason : SolverStats.PruneReason.values()) {
+            counts.put(reason.name(), last.getPruned(reason));
+        }
+        return counts;
+    }
+
+    @Override public synchronized String getJsonLogFile() { return jsonLogFile; }
+
+    @Override
+    public synchronized void setJsonLogFile(String path) {
+        this.jsonLogFile = path == null ? "" : path;
+    }
+}
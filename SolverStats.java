@@ -0,0 +1,127 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters for one solve. The search bumps the package-private fields
+ * directly (one instance per thread, so no synchronisation); once the
+ * solve is done the object is handed to SolverMonitor and returned to the
+ * caller, and should be treated as read-only.
+ */
+public class SolverStats {
+    // Why a node was thrown away without being searched
+    public enum PruneReason {
+        TARGET_CAPTURED, // Move captured our own target
+        UNREACHABLE,     // Heuristic says the target can't reach 0 at all (reachability / tablebase)
+        OVER_BOUND,      // f above the turn limit (A*) or the current bound (IDA*)
+        TABLE_HIT        // Transposition table already knows this state fails (IDA*)
+    }
+
+    String engine = "";
+    int startTurn;
+    int pathLength = -1; // -1 = no path
+    boolean reachesGoal;
+
+    long nodesGenerated;
+    long nodesExpanded;
+    long duplicateHits;
+    long heuristicEvaluations;
+    long closedSize;
+    long peakOpenSize;
+    final long[] pruned = new long[PruneReason.values().length];
+
+    long wallMillis;
+    long allocatedBytes = -1; // -1 if the JVM can't measure it
+
+    private long startNanos;
+    private long startAllocated;
+
+    // --- Timing ---
+    void start() {
+        startNanos = System.nanoTime();
+        startAllocated = threadAllocatedBytes();
+    }
+
+    void stop() {
+        wallMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        long allocated = threadAllocatedBytes();
+        allocatedBytes = (allocated < 0 || startAllocated < 0) ? -1 : allocated - startAllocated;
+    }
+
+    void prune(PruneReason reason) {
+        pruned[reason.ordinal()]++;
+    }
+
+    // Adds another thread's counters (parallel engine)
+    void add(SolverStats other) {
+        nodesGenerated += other.nodesGenerated;
+        nodesExpanded += other.nodesExpanded;
+        duplicateHits += other.duplicateHits;
+        heuristicEvaluations += other.heuristicEvaluations;
+        for (int i = 0; i < pruned.length; i++) pruned[i] += other.pruned[i];
+    }
+
+    // Bytes allocated by the calling thread so far, or -1 if unsupported (also used by Benchmarks)
+    static long threadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    // --- Getters ---
+    public String getEngine() { return engine; }
+    public int getStartTurn() { return startTurn; }
+    public int getPathLength() { return pathLength; }
+    public boolean reachesGoal() { return reachesGoal; }
+    public long getNodesGenerated() { return nodesGenerated; }
+    public long getNodesExpanded() { return nodesExpanded; }
+    public long getDuplicateHits() { return duplicateHits; }
+    public long getHeuristicEvaluations() { return heuristicEvaluations; }
+    public long getClosedSize() { return closedSize; }
+    public long getPeakOpenSize() { return peakOpenSize; }
+    public long getPruned(PruneReason reason) { return pruned[reason.ordinal()]; }
+    public long getWallMillis() { return wallMillis; }
+    // Bytes allocated on the solving thread (parallel worker threads aren't included)
+    public long getAllocatedBytes() { return allocatedBytes; }
+
+    public Map<PruneReason, Long> getPruneCounts() {
+        Map<PruneReason, Long> counts = new EnumMap<>(PruneReason.class);
+        for (PruneReason reason : PruneReason.values()) counts.put(reason, pruned[reason.ordinal()]);
+        return counts;
+    }
+
+    /** One-line JSON, e.g. for a log file that gets one line per solve */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"time\":").append(System.currentTimeMillis());
+        sb.append(",\"engine\":\"").append(engine).append('"');
+        sb.append(",\"startTurn\":").append(startTurn);
+        sb.append(",\"reachesGoal\":").append(reachesGoal);
+        sb.append(",\"pathLength\":").append(pathLength);
+        sb.append(",\"nodesGenerated\":").append(nodesGenerated);
+        sb.append(",\"nodesExpanded\":").append(nodesExpanded);
+        sb.append(",\"duplicateHits\":").append(duplicateHits);
+        sb.append(",\"heuristicEvaluations\":").append(heuristicEvaluations);
+        sb.append(",\"closedSize\":").append(closedSize);
+        sb.append(",\"peakOpenSize\":").append(peakOpenSize);
+        sb.append(",\"pruned\":{");
+        for (PruneReason reason : PruneReason.values()) {
+            if (reason.ordinal() > 0) sb.append(',');
+            sb.append('"').append(reason.name().toLowerCase()).append("\":").append(pruned[reason.ordinal()]);
+        }
+        sb.append("},\"wallMillis\":").append(wallMillis);
+        sb.append(",\"allocatedBytes\":").append(allocatedBytes);
+        return sb.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
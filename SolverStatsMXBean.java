@@ -0,0 +1,32 @@
+import java.util.Map;
+
+/**
+ * JMX view of the solver (see SolverMonitor). Shows up in JConsole /
+ * VisualVM under "EinsteinWuerfeltNicht:type=SolverStats".
+ */
+public interface SolverStatsMXBean {
+    // --- Totals since start-up ---
+    long getSolveCount();
+    long getTotalNodesExpanded();
+    long getTotalNodesGenerated();
+    long getTotalWallMillis();
+
+    // --- Last solve ---
+    String getLastEngine();
+    boolean isLastReachesGoal();
+    int getLastPathLength();
+    long getLastNodesGenerated();
+    long getLastNodesExpanded();
+    long getLastDuplicateHits();
+    long getLastHeuristicEvaluations();
+    long getLastClosedSize();
+    long getLastPeakOpenSize();
+    Map<String, Long> getLastPruneCounts();
+    long getLastWallMillis();
+    long getLastAllocatedBytes();
+    String getLastSolveJson();
+
+    // --- JSON line log ---
+    String getJsonLogFile();
+    void setJsonLogFile(String path); // Empty or null turns logging off
+}
@@ -0,0 +1,65 @@
+/**
+ * Packs a board state (6 piece positions + turn index) into a single long.
+ * Each position takes 7 bits (0-99, or 127 for a captured piece) and the
+ * turn index sits above them, so the whole state fits in 48 bits.
+ */
+public final class StateCodec {
+    private static final int POS_BITS = 7;
+    private static final long POS_MASK = (1L << POS_BITS) - 1;
+    private static final int CAPTURED = (int) POS_MASK; // 127 means "-1"
+    private static final int TURN_SHIFT = 6 * POS_BITS;
+
+    // TRANSPOSED[pos] for every 7-bit field value, captured stays captured
+    private static final int[] TRANSPOSED = new int[CAPTURED + 1];
+    static {
+        for (int pos = 0; pos <= CAPTURED; pos++) {
+            TRANSPOSED[pos] = pos < 100 ? (pos % 10) * 10 + pos / 10 : pos;
+        }
+    }
+
+    private StateCodec() {}
+
+    public static long encode(int[] positions, int turnIndex) {
+        long key = 0;
+        for (int i = 0; i < 6; i++) {
+            int pos = positions[i] == -1 ? CAPTURED : positions[i];
+            key |= (long) pos << (i * POS_BITS);
+        }
+        return key | ((long) turnIndex << TURN_SHIFT);
+    }
+
+    // Writes the 6 positions into 'out' (no allocation)
+    public static void decodePositions(long key, int[] out) {
+        for (int i = 0; i < 6; i++) {
+            int pos = (int) ((key >>> (i * POS_BITS)) & POS_MASK);
+            out[i] = pos == CAPTURED ? -1 : pos;
+        }
+    }
+
+    public static int decodeTurn(long key) {
+        return (int) (key >>> TURN_SHIFT);
+    }
+
+    // Same state with the pieces in 'pieceMask' (bit i = piece i + 1) marked captured
+    public static long withoutPieces(long key, int pieceMask) {
+        for (int i = 0; i < 6; i++) {
+            if ((pieceMask & (1 << i)) != 0) key |= POS_MASK << (i * POS_BITS);
+        }
+        return key;
+    }
+
+    // Mirror image across the 0-99 diagonal: square (row, col) becomes (col, row)
+    public static long transpose(long key) {
+        long out = key & ~((1L << TURN_SHIFT) - 1); // Keep the turn
+        for (int i = 0; i < 6; i++) {
+            int pos = (int) ((key >>> (i * POS_BITS)) & POS_MASK);
+            out |= (long) TRANSPOSED[pos] << (i * POS_BITS);
+        }
+        return out;
+    }
+
+    public static int positionOf(long key, int pieceIdx) {
+        int pos = (int) ((key >>> (pieceIdx * POS_BITS)) & POS_MASK);
+        return pos == CAPTURED ? -1 : pos;
+    }
+}
@@ -0,0 +1,297 @@
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays every registered Player on every level in a directory, many
+ * times each, in parallel, to compare strategies before they ship.
+ * Collects, per player and level:
+ *  - win rate (and capture rate)
+ *  - average number of moves in a won game
+ *  - decision latency percentiles: the time of each chooseMove call,
+ *    so the AI's first move includes its whole solve
+ *
+ * Usage: java Tournament [-games n] [-threads t] [-players a,b] [-csv file] [-json file] [level dir]
+ * Defaults: 100 games, every core, all players, the current directory.
+ * Levels are the level*.txt files in the directory.
+ *
+ * Every game gets a fresh Player from its factory, so no state carries
+ * over between games. Players that are AutoCloseable are closed after
+ * their game. The default AI players are created with logging off.
+ */
+public class Tournament {
+    // Builds the player for one game of 'level'
+    public interface PlayerFactory {
+        Player create(GameLoader level);
+    }
+
+    // --- Results for one player on one level ---
+    public static class Cell {
+        final String player;
+        final String level;
+        long games;
+        long wins;
+        long captures;
+        long winMoves; // Sum of moves over won games
+        long[] latencies = new long[64]; // Nanoseconds per chooseMove call
+        int latencyCount;
+
+        Cell(String player, String level) {
+            this.player = player;
+            this.level = level;
+        }
+
+        void add(GameRecord game) {
+            games++;
+            if (game.won) {
+                wins++;
+                winMoves += game.moves;
+            }
+            if (game.captured) captures++;
+            addLatencies(game.latencies, game.moves);
+        }
+
+        void add(Cell other) {
+            games += other.games;
+            wins += other.wins;
+            captures += other.captures;
+            winMoves += other.winMoves;
+            addLatencies(other.latencies, other.latencyCount);
+        }
+
+        private void addLatencies(long[] values, int count) {
+            if (latencyCount + count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, latencyCount + count));
+            }
+            System.arraycopy(values, 0, latencies, latencyCount, count);
+            latencyCount += count;
+        }
+
+        public double winRate() { return games == 0 ? 0 : (double) wins / games; }
+        public double captureRate() { return games == 0 ? 0 : (double) captures / games; }
+        public double avgMovesToWin() { return wins == 0 ? Double.NaN : (double) winMoves / wins; }
+
+        // Nearest-rank percentile of the decision latency, in milliseconds
+        public double latencyMillis(double percentile) {
+            if (latencyCount == 0) return 0;
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * latencyCount);
+            return sorted[Math.max(0, Math.min(latencyCount - 1, rank - 1))] / 1e6;
+        }
+    }
+
+    // One finished game
+    private static class GameRecord {
+        boolean won;
+        boolean captured;
+        int moves;
+        final long[] latencies = new long[GameState.MAX_MOVES];
+    }
+
+    private final Map<String, PlayerFactory> players = new LinkedHashMap<>();
+    private int gamesPerLevel = 100;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    public void register(String name, PlayerFactory factory) {
+        players.put(name, factory);
+    }
+
+    public void setGamesPerLevel(int games) {
+        this.gamesPerLevel = games;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    // The players in this tree, each set up for one game on a single thread
+    public void registerDefaults() {
+        register("Random", level -> new RandomPlayer());
+        register("AI-A*", level -> {
+            AIPlayer ai = new AIPlayer(level.targetPiece);
+            ai.setSolutionCache(null); // Time the solve, not the cache
+            ai.setLogging(false);
+            ai.setDiceSequence(level.diceSequence);
+            return ai;
+        });
+        register("AI-IDA*", level -> {
+            AIPlayer ai = new AIPlayer(level.targetPiece);
+            ai.setSolutionCache(null);
+            ai.setLogging(false);
+            ai.setEngine(AIPlayer.Engine.IDA_STAR);
+            ai.setTableMemoryBytes(1L << 20);
+            ai.setDiceSequence(level.diceSequence);
+            return ai;
+        });
+        // Doesn't get to see the dice sequence
+        register("Expectimax", level -> {
+            ExpectimaxPlayer player = new ExpectimaxPlayer(level.targetPiece);
+            player.setMaxTurns(Math.min(GameState.MAX_MOVES, level.diceSequence.size()));
+            player.setTimeBudgetMillis(20);
+            player.setParallelism(1); // The tournament already uses every core
+            player.setTableMemoryBytes(4L << 20);
+            return player;
+        });
+    }
+
+    /** @return one Cell per (player, level), in registration / file order */
+    public List<Cell> run(List<File> levelFiles) throws Exception {
+        List<GameLoader> levels = new ArrayList<>();
+        for (File file : levelFiles) levels.add(new GameLoader(file.getPath()));
+
+        List<Cell> cells = new ArrayList<>();
+        List<Callable<GameRecord>> games = new ArrayList<>();
+        List<Cell> owners = new ArrayList<>(); // owners.get(i) collects games.get(i)
+        for (Map.Entry<String, PlayerFactory> entry : players.entrySet()) {
+            for (int l = 0; l < levels.size(); l++) {
+                Cell cell = new Cell(entry.getKey(), levelFiles.get(l).getName());
+                cells.add(cell);
+                GameLoader level = levels.get(l);
+                PlayerFactory factory = entry.getValue();
+                for (int g = 0; g < gamesPerLevel; g++) {
+                    games.add(() -> play(factory, level));
+                    owners.add(cell);
+                }
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<GameRecord>> results = pool.invokeAll(games);
+            for (int i = 0; i < results.size(); i++) owners.get(i).add(results.get(i).get());
+        } finally {
+            pool.shutdown();
+        }
+        return cells;
+    }
+
+    // The GameMain game loop, timing each decision
+    private static GameRecord play(PlayerFactory factory, GameLoader level) throws Exception {
+        GameRecord record = new GameRecord();
+        Player player = factory.create(level);
+        try {
+            GameState game = new GameState(level.targetPiece, level.initialPositions);
+            int maxTurns = Math.min(GameState.MAX_MOVES, level.diceSequence.size());
+            for (int turn = 0; turn < maxTurns; turn++) {
+                List<Integer> moves = game.generatePossibleMoves(level.diceSequence.get(turn), game.getPositions());
+                if (moves.isEmpty()) continue;
+
+                long start = System.nanoTime();
+                int move = player.chooseMove(moves, game.getPositions(), turn);
+                record.latencies[record.moves++] = System.nanoTime() - start;
+                if (!moves.contains(move)) move = moves.get(0); // Same fallback as the AI's
+
+                game.makeMove(move);
+                if (game.isWon()) { record.won = true; break; }
+                if (game.isTargetCaptured()) { record.captured = true; break; }
+            }
+        } finally {
+            if (player instanceof AutoCloseable) ((AutoCloseable) player).close();
+        }
+        return record;
+    }
+
+    // Adds one "all levels" row per player after its level rows
+    public static List<Cell> withTotals(List<Cell> cells) {
+        Map<String, Cell> totals = new LinkedHashMap<>();
+        for (Cell cell : cells) {
+            totals.computeIfAbsent(cell.player, name -> new Cell(name, "ALL")).add(cell);
+        }
+        List<Cell> out = new ArrayList<>();
+        for (Cell total : totals.values()) {
+            for (Cell cell : cells) if (cell.player.equals(total.player)) out.add(cell);
+            out.add(total);
+        }
+        return out;
+    }
+
+    // --- OUTPUT ---
+    public static void printTable(List<Cell> cells) {
+        System.out.printf("%-12s %-12s %7s %8s %8s %10s %9s %9s %9s %9s%n",
+                "Player", "Level", "Games", "Win%", "Capt%", "MovesWin", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Cell c : cells) {
+            String movesToWin = c.wins == 0 ? "-" : String.format("%.2f", c.avgMovesToWin());
+            System.out.printf("%-12s %-12s %7d %8.2f %8.2f %10s %9.3f %9.3f %9.3f %9.3f%n",
+                    c.player, c.level, c.games, 100 * c.winRate(), 100 * c.captureRate(), movesToWin,
+                    c.latencyMillis(50), c.latencyMillis(90), c.latencyMillis(99), c.latencyMillis(100));
+        }
+    }
+
+    public static void writeCsv(List<Cell> cells, File file) throws Exception {
+        try (PrintWriter out = new PrintWriter(file)) {
+            out.println("player,level,games,wins,captures,win_rate,avg_moves_to_win,p50_ms,p90_ms,p99_ms,max_ms");
+            for (Cell c : cells) {
+                out.printf(java.util.Locale.ROOT, "%s,%s,%d,%d,%d,%.4f,%s,%.3f,%.3f,%.3f,%.3f%n",
+                        c.player, c.level, c.games, c.wins, c.captures, c.winRate(),
+                        c.wins == 0 ? "" : String.format(java.util.Locale.ROOT, "%.2f", c.avgMovesToWin()),
+                        c.latencyMillis(50), c.latencyMillis(90), c.latencyMillis(99), c.latencyMillis(100));
+            }
+        }
+    }
+
+    public static void writeJson(List<Cell> cells, File file) throws Exception {
+        try (PrintWriter out = new PrintWriter(file)) {
+            out.println("[");
+            for (int i = 0; i < cells.size(); i++) {
+                Cell c = cells.get(i);
+                out.printf(java.util.Locale.ROOT,
+                        "  {\"player\":\"%s\",\"level\":\"%s\",\"games\":%d,\"wins\":%d,\"captures\":%d,"
+                                + "\"winRate\":%.4f,\"avgMovesToWin\":%s,"
+                                + "\"latencyMillis\":{\"p50\":%.3f,\"p90\":%.3f,\"p99\":%.3f,\"max\":%.3f}}%s%n",
+                        jsonEscape(c.player), jsonEscape(c.level), c.games, c.wins, c.captures, c.winRate(),
+                        c.wins == 0 ? "null" : String.format(java.util.Locale.ROOT, "%.2f", c.avgMovesToWin()),
+                        c.latencyMillis(50), c.latencyMillis(90), c.latencyMillis(99), c.latencyMillis(100),
+                        i == cells.size() - 1 ? "" : ",");
+            }
+            out.println("]");
+        }
+    }
+
+    private static String jsonEscape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.registerDefaults();
+        File dir = new File(".");
+        File csv = null, json = null;
+        List<String> only = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-games": tournament.setGamesPerLevel(Integer.parseInt(args[++i])); break;
+                case "-threads": tournament.setThreads(Integer.parseInt(args[++i])); break;
+                case "-players": only = Arrays.asList(args[++i].split(",")); break;
+                case "-csv": csv = new File(args[++i]); break;
+                case "-json": json = new File(args[++i]); break;
+                default: dir = new File(args[i]);
+            }
+        }
+        if (only != null) tournament.players.keySet().retainAll(only);
+
+        File[] files = dir.listFiles((d, name) -> name.startsWith("level") && name.endsWith(".txt"));
+        if (files == null || files.length == 0) {
+            System.out.println("No level*.txt files in " + dir.getAbsolutePath());
+            return;
+        }
+        Arrays.sort(files);
+        System.out.println("Players: " + tournament.players.keySet() + ", " + files.length + " levels, "
+                + tournament.gamesPerLevel + " games each, " + tournament.threads + " threads\n");
+
+        long start = System.currentTimeMillis();
+        List<Cell> cells = withTotals(tournament.run(Arrays.asList(files)));
+        printTable(cells);
+        System.out.println("\nDone in " + (System.currentTimeMillis() - start) + "ms");
+        if (csv != null) writeCsv(cells, csv);
+        if (json != null) writeJson(cells, json);
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free transposition table that any number of solver
+ * threads can share.
+ *
+ * Each entry is two longs: (key XOR data) and data ("lockless hashing").
+ * Writers store both words without locking. A reader only accepts an
+ * entry if (word0 XOR word1) gives back its key, so a half-written entry
+ * from another thread just looks like a miss instead of returning wrong
+ * data.
+ *
+ * The table is split into buckets of two entries: the first one keeps
+ * whichever result came from the deeper search (depth-preferred), the
+ * second one always takes the newest result. Memory is fixed at
+ * construction from a byte budget, so solver RAM can be capped.
+ */
+public class TranspositionTable {
+    public static final int MISS = -1;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_ENTRY * ENTRIES_PER_BUCKET * Long.BYTES;
+
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /** @param memoryBytes upper bound on the table's memory (rounded down to a power of two) */
+    public TranspositionTable(long memoryBytes) {
+        long buckets = Math.max(1, memoryBytes / BYTES_PER_BUCKET);
+        int bucketCount = (int) Math.min(Long.highestOneBit(buckets), 1 << 26);
+        this.slots = new AtomicLongArray(bucketCount * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY);
+        this.bucketMask = bucketCount - 1;
+    }
+
+    /** @return the stored value for 'key', or MISS */
+    public int probe(long key) {
+        key = nonZero(key);
+        int base = bucketBase(key);
+        boolean occupied = false;
+        for (int e = 0; e < ENTRIES_PER_BUCKET; e++) {
+            int i = base + e * LONGS_PER_ENTRY;
+            long data = slots.getPlain(i + 1);
+            long check = slots.getPlain(i);
+            if ((check ^ data) == key) {
+                hits.increment();
+                return valueOf(data);
+            }
+            if (check != 0) occupied = true;
+        }
+        misses.increment();
+        if (occupied) collisions.increment(); // Bucket in use by other states
+        return MISS;
+    }
+
+    /**
+     * Stores 'value' (0-65535) for 'key'. 'depth' is how much search the value
+     * stands for (e.g. turns left), used to decide what to keep.
+     */
+    public void store(long key, int value, int depth) {
+        key = nonZero(key);
+        long data = (value & 0xFFFFL) | ((long) (depth & 0xFF) << 16);
+        int base = bucketBase(key);
+
+        // Depth-preferred entry: take it if empty, same state, or we searched at least as deep
+        long oldData = slots.getPlain(base + 1);
+        long oldKey = slots.getPlain(base) ^ oldData;
+        int i = base;
+        if (slots.getPlain(base) != 0 && oldKey != key && depthOf(oldData) > depth) {
+            i = base + LONGS_PER_ENTRY; // Always-replace entry
+        }
+        slots.setPlain(i + 1, data);
+        slots.setPlain(i, key ^ data);
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getCollisions() { return collisions.sum(); }
+
+    public int capacity() {
+        return slots.length() / LONGS_PER_ENTRY;
+    }
+
+    public long memoryBytes() {
+        return (long) slots.length() * Long.BYTES;
+    }
+
+    private int bucketBase(long key) {
+        return (int) (key & bucketMask) * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+    }
+
+    private static int valueOf(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    private static int depthOf(long data) {
+        return (int) ((data >>> 16) & 0xFF);
+    }
+
+    // An all-zero entry means "empty", so key 0 is folded onto 1
+    private static long nonZero(long key) {
+        return key == 0 ? 1 : key;
+    }
+}
@@ -0,0 +1,58 @@
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing for board states. Every (piece, square) pair and every
+ * turn index gets a random 64-bit key, and a state's hash is the XOR of
+ * the keys that apply to it. Since XOR undoes itself, a move only needs
+ * to XOR the moved piece out of its old square and into the new one (and
+ * a captured piece out of its square), which is O(1) per move.
+ *
+ * Captured pieces (-1) contribute nothing. The seed is fixed so hashes
+ * are stable between runs.
+ */
+public final class Zobrist {
+    private static final int PIECES = 6;
+    private static final int SQUARES = 100;
+    private static final int MAX_TURNS = 64;
+
+    private static final long[][] PIECE_KEYS = new long[PIECES][SQUARES];
+    private static final long[] TURN_KEYS = new long[MAX_TURNS];
+
+    static {
+        SplittableRandom rng = new SplittableRandom(0x45574E2DL); // "EWN-"
+        for (int p = 0; p < PIECES; p++) {
+            for (int sq = 0; sq < SQUARES; sq++) PIECE_KEYS[p][sq] = rng.nextLong();
+        }
+        for (int t = 0; t < MAX_TURNS; t++) TURN_KEYS[t] = rng.nextLong();
+    }
+
+    private Zobrist() {}
+
+    // Full hash from scratch, only needed once per root state
+    public static long hash(int[] positions, int turnIndex) {
+        long h = TURN_KEYS[turnIndex];
+        for (int i = 0; i < PIECES; i++) {
+            if (positions[i] != -1) h ^= PIECE_KEYS[i][positions[i]];
+        }
+        return h;
+    }
+
+    public static long pieceKey(int pieceIdx, int square) {
+        return PIECE_KEYS[pieceIdx][square];
+    }
+
+    // Piece 'pieceIdx' moves from 'from' to 'to'
+    public static long move(long hash, int pieceIdx, int from, int to) {
+        return hash ^ PIECE_KEYS[pieceIdx][from] ^ PIECE_KEYS[pieceIdx][to];
+    }
+
+    // Piece 'pieceIdx' is captured on 'square' (its slot becomes -1)
+    public static long capture(long hash, int pieceIdx, int square) {
+        return hash ^ PIECE_KEYS[pieceIdx][square];
+    }
+
+    // Advances the turn component from 'turnIndex' to 'turnIndex + 1'
+    public static long nextTurn(long hash, int turnIndex) {
+        return hash ^ TURN_KEYS[turnIndex] ^ TURN_KEYS[turnIndex + 1];
+    }
+}